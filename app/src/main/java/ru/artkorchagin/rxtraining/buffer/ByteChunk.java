@@ -0,0 +1,83 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Байтовый блок из {@link ByteChunkPool}. После обработки получатель обязан вызвать
+ * {@link #release()}, после этого блок нельзя использовать.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ByteChunk {
+
+    private final ByteChunkPool mPool;
+    private final ByteBuffer mBuffer;
+    private final AtomicBoolean mReleased = new AtomicBoolean();
+
+    ByteChunk(ByteChunkPool pool, ByteBuffer buffer) {
+        mPool = pool;
+        mBuffer = buffer;
+    }
+
+    void reset() {
+        mBuffer.clear();
+        mReleased.set(false);
+    }
+
+    /**
+     * Добавление числа в десятичном виде
+     *
+     * @throws java.nio.BufferOverflowException если в блоке не хватает места
+     * @see IntDecimal#write(int, ByteBuffer)
+     */
+    public void putDecimal(int value) {
+        IntDecimal.write(value, mBuffer);
+    }
+
+    public void put(byte value) {
+        mBuffer.put(value);
+    }
+
+    public boolean isEmpty() {
+        return mBuffer.position() == 0;
+    }
+
+    /**
+     * @return количество байт в блоке
+     */
+    public int size() {
+        return mBuffer.position();
+    }
+
+    /**
+     * @return количество байт, которое ещё можно добавить
+     */
+    public int remaining() {
+        return mBuffer.remaining();
+    }
+
+    /**
+     * @return представление заполненной части блока только для чтения, например для
+     * {@link java.nio.channels.WritableByteChannel#write(ByteBuffer)}
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        ByteBuffer view = mBuffer.duplicate();
+        view.flip();
+        return view.asReadOnlyBuffer();
+    }
+
+    /**
+     * Возврат блока в пул
+     *
+     * @throws IllegalStateException если блок уже был возвращён
+     */
+    public void release() {
+        if (!mReleased.compareAndSet(false, true)) {
+            throw new IllegalStateException("ByteChunk is already released");
+        }
+        mPool.release(this);
+    }
+
+}
@@ -0,0 +1,89 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пул переиспользуемых байтовых блоков {@link ByteChunk} фиксированного размера.
+ * <p>
+ * Блоки вне кучи ({@link ByteBuffer#allocateDirect(int)}) записываются в канал без
+ * промежуточного копирования. Блок возвращается в пул вызовом {@link ByteChunk#release()};
+ * если пул уже заполнен, блок просто отдаётся сборщику мусора.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class ByteChunkPool {
+
+    private final int mChunkSize;
+    private final int mMaxPooled;
+    private final boolean mDirect;
+
+    private final Queue<ByteChunk> mPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mPooledCount = new AtomicInteger();
+    private final AtomicLong mAllocatedCount = new AtomicLong();
+
+    /**
+     * @param chunkSize размер одного блока в байтах
+     * @param maxPooled максимальное количество свободных блоков, которые хранит пул
+     * @param direct    {@code true} для размещения блоков вне кучи
+     */
+    public ByteChunkPool(int chunkSize, int maxPooled, boolean direct) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        mChunkSize = chunkSize;
+        mMaxPooled = maxPooled;
+        mDirect = direct;
+    }
+
+    /**
+     * @return пустой блок из пула, либо новый, если свободных блоков нет
+     */
+    public ByteChunk acquire() {
+        ByteChunk chunk = mPool.poll();
+        if (chunk != null) {
+            mPooledCount.decrementAndGet();
+            chunk.reset();
+            return chunk;
+        }
+        mAllocatedCount.incrementAndGet();
+        return new ByteChunk(this, mDirect
+                ? ByteBuffer.allocateDirect(mChunkSize)
+                : ByteBuffer.allocate(mChunkSize));
+    }
+
+    void release(ByteChunk chunk) {
+        if (mPooledCount.incrementAndGet() <= mMaxPooled) {
+            mPool.offer(chunk);
+        } else {
+            mPooledCount.decrementAndGet();
+        }
+    }
+
+    public int getChunkSize() {
+        return mChunkSize;
+    }
+
+    public boolean isDirect() {
+        return mDirect;
+    }
+
+    /**
+     * @return количество свободных блоков в пуле
+     */
+    public int getPooledCount() {
+        return mPooledCount.get();
+    }
+
+    /**
+     * @return количество блоков, созданных пулом за всё время
+     */
+    public long getAllocatedCount() {
+        return mAllocatedCount.get();
+    }
+
+}
@@ -0,0 +1,54 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+/**
+ * {@link IntRing} на массиве {@code int[]} ровно из {@code capacity} ячеек. Массив выделяется
+ * один раз и не растёт, поэтому память ограничена ёмкостью даже на длинных потоках.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class HeapIntRing implements IntRing {
+
+    private final int mCapacity;
+    private final int[] mValues;
+    private int mSize;
+    /** Индекс самого старого числа после заполнения */
+    private int mHead;
+
+    public HeapIntRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        mCapacity = capacity;
+        mValues = new int[capacity];
+    }
+
+    @Override
+    public void add(int value) {
+        if (mSize < mCapacity) {
+            mValues[mSize++] = value;
+            return;
+        }
+        mValues[mHead] = value;
+        mHead = mHead + 1 == mCapacity ? 0 : mHead + 1;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    public int capacity() {
+        return mCapacity;
+    }
+
+    @Override
+    public int get(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mSize);
+        }
+        int position = mHead + index;
+        return mValues[position < mCapacity ? position : position - mCapacity];
+    }
+}
@@ -0,0 +1,78 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Блок чисел из {@link IntChunkPool}. После обработки получатель обязан вызвать
+ * {@link #release()}, после этого блок нельзя использовать.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class IntChunk {
+
+    private final IntChunkPool mPool;
+    private final IntBuffer mBuffer;
+    private final AtomicBoolean mReleased = new AtomicBoolean();
+
+    IntChunk(IntChunkPool pool, IntBuffer buffer) {
+        mPool = pool;
+        mBuffer = buffer;
+    }
+
+    void reset() {
+        mBuffer.clear();
+        mReleased.set(false);
+    }
+
+    /**
+     * Добавление числа в блок
+     *
+     * @return {@code true} если после добавления блок заполнен
+     */
+    public boolean put(int value) {
+        mBuffer.put(value);
+        return !mBuffer.hasRemaining();
+    }
+
+    public boolean isEmpty() {
+        return mBuffer.position() == 0;
+    }
+
+    /**
+     * @return количество чисел в блоке
+     */
+    public int size() {
+        return mBuffer.position();
+    }
+
+    public int get(int index) {
+        if (index >= mBuffer.position()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mBuffer.position());
+        }
+        return mBuffer.get(index);
+    }
+
+    /**
+     * @return представление заполненной части блока только для чтения
+     */
+    public IntBuffer asReadOnlyBuffer() {
+        IntBuffer view = mBuffer.duplicate();
+        view.flip();
+        return view.asReadOnlyBuffer();
+    }
+
+    /**
+     * Возврат блока в пул
+     *
+     * @throws IllegalStateException если блок уже был возвращён
+     */
+    public void release() {
+        if (!mReleased.compareAndSet(false, true)) {
+            throw new IllegalStateException("IntChunk is already released");
+        }
+        mPool.release(this);
+    }
+
+}
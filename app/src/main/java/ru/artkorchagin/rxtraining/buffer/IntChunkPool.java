@@ -0,0 +1,98 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пул переиспользуемых блоков {@link IntChunk} фиксированного размера.
+ * <p>
+ * Блоки хранятся в {@link IntBuffer}, который может быть размещён вне кучи
+ * ({@link ByteBuffer#allocateDirect(int)}). Блок возвращается в пул вызовом
+ * {@link IntChunk#release()}; если пул уже заполнен, блок просто отдаётся сборщику мусора.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntChunkPool {
+
+    private final int mChunkSize;
+    private final int mMaxPooled;
+    private final boolean mDirect;
+
+    private final Queue<IntChunk> mPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mPooledCount = new AtomicInteger();
+    private final AtomicLong mAllocatedCount = new AtomicLong();
+
+    /**
+     * @param chunkSize количество чисел в одном блоке
+     * @param maxPooled максимальное количество свободных блоков, которые хранит пул
+     * @param direct    {@code true} для размещения блоков вне кучи
+     */
+    public IntChunkPool(int chunkSize, int maxPooled, boolean direct) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        mChunkSize = chunkSize;
+        mMaxPooled = maxPooled;
+        mDirect = direct;
+    }
+
+    /**
+     * @return пустой блок из пула, либо новый, если свободных блоков нет
+     */
+    public IntChunk acquire() {
+        IntChunk chunk = mPool.poll();
+        if (chunk != null) {
+            mPooledCount.decrementAndGet();
+            chunk.reset();
+            return chunk;
+        }
+        mAllocatedCount.incrementAndGet();
+        return new IntChunk(this, allocate());
+    }
+
+    void release(IntChunk chunk) {
+        if (mPooledCount.incrementAndGet() <= mMaxPooled) {
+            mPool.offer(chunk);
+        } else {
+            mPooledCount.decrementAndGet();
+        }
+    }
+
+    private IntBuffer allocate() {
+        if (mDirect) {
+            return ByteBuffer.allocateDirect(mChunkSize * 4)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        }
+        return IntBuffer.allocate(mChunkSize);
+    }
+
+    public int getChunkSize() {
+        return mChunkSize;
+    }
+
+    public boolean isDirect() {
+        return mDirect;
+    }
+
+    /**
+     * @return количество свободных блоков в пуле
+     */
+    public int getPooledCount() {
+        return mPooledCount.get();
+    }
+
+    /**
+     * @return количество блоков, созданных пулом за всё время
+     */
+    public long getAllocatedCount() {
+        return mAllocatedCount.get();
+    }
+
+}
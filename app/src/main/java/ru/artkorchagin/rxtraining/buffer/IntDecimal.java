@@ -0,0 +1,89 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Запись чисел в десятичном виде (ASCII) сразу в {@link ByteBuffer}, без промежуточной
+ * {@link String}. Цифры пишутся по две за деление, как в {@link Integer#toString(int)}.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class IntDecimal {
+
+    /** Максимальная длина числа в байтах ({@code "-2147483648"}) */
+    public static final int MAX_LENGTH = 11;
+
+    private static final byte[] MIN_VALUE_BYTES = {
+            '-', '2', '1', '4', '7', '4', '8', '3', '6', '4', '8'};
+
+    private static final int[] SIZE_TABLE = {
+            9, 99, 999, 9999, 99999, 999999, 9999999, 99999999, 999999999, Integer.MAX_VALUE};
+
+    private static final byte[] DIGIT_TENS = new byte[100];
+    private static final byte[] DIGIT_ONES = new byte[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (byte) ('0' + i / 10);
+            DIGIT_ONES[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private IntDecimal() {
+    }
+
+    /**
+     * @return количество байт в десятичной записи {@code value}
+     */
+    public static int length(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return MAX_LENGTH;
+        }
+        if (value < 0) {
+            return 1 + length(-value);
+        }
+        for (int i = 0; ; i++) {
+            if (value <= SIZE_TABLE[i]) {
+                return i + 1;
+            }
+        }
+    }
+
+    /**
+     * Запись {@code value} с текущей позиции {@code dst}, позиция сдвигается на длину записи
+     *
+     * @throws BufferOverflowException если в {@code dst} не хватает места
+     */
+    public static void write(int value, ByteBuffer dst) {
+        int length = length(value);
+        int start = dst.position();
+        int end = start + length;
+        if (end > dst.limit()) {
+            throw new BufferOverflowException();
+        }
+        if (value == Integer.MIN_VALUE) {
+            dst.put(MIN_VALUE_BYTES);
+            return;
+        }
+        if (value < 0) {
+            dst.put(start, (byte) '-');
+            value = -value;
+        }
+        int index = end;
+        while (value >= 100) {
+            int quotient = value / 100;
+            int remainder = value - quotient * 100;
+            value = quotient;
+            dst.put(--index, DIGIT_ONES[remainder]);
+            dst.put(--index, DIGIT_TENS[remainder]);
+        }
+        dst.put(--index, DIGIT_ONES[value]);
+        if (value >= 10) {
+            dst.put(--index, DIGIT_TENS[value]);
+        }
+        dst.position(end);
+    }
+
+}
@@ -0,0 +1,30 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+/**
+ * Кольцевой буфер последних чисел фиксированной ёмкости: при переполнении новое число
+ * перезаписывает самое старое.
+ * <p>
+ * Реализации не потокобезопасны: на каждую подписку нужен свой экземпляр.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public interface IntRing {
+
+    /**
+     * Добавление числа, при заполненном буфере вытесняет самое старое
+     */
+    void add(int value);
+
+    /**
+     * @return количество хранимых чисел, не больше {@link #capacity()}
+     */
+    int size();
+
+    int capacity();
+
+    /**
+     * @param index индекс от самого старого (0) до самого нового ({@code size() - 1}) числа
+     */
+    int get(int index);
+}
@@ -0,0 +1,58 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+/**
+ * Заранее созданные строки для чисел из диапазона {@code min..max}. Для частых маленьких
+ * чисел {@link #get(int)} возвращает одну и ту же строку без аллокаций, остальные числа
+ * преобразуются через {@link String#valueOf(int)}.
+ * <p>
+ * Кэш неизменяем и безопасен для использования из нескольких потоков.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class IntStringCache {
+
+    private final int mMin;
+    private final int mMax;
+    private final String[] mValues;
+
+    /**
+     * @param min наименьшее кэшируемое число
+     * @param max наибольшее кэшируемое число
+     */
+    public IntStringCache(int min, int max) {
+        if (min > max || (long) max - min >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid range: " + min + ".." + max);
+        }
+        mMin = min;
+        mMax = max;
+        mValues = new String[max - min + 1];
+        for (int i = 0; i < mValues.length; i++) {
+            mValues[i] = String.valueOf(min + i);
+        }
+    }
+
+    /**
+     * @return десятичная запись {@code value}, для чисел из диапазона кэша - всегда один и тот
+     * же экземпляр
+     */
+    public String get(int value) {
+        if (value >= mMin && value <= mMax) {
+            return mValues[value - mMin];
+        }
+        return String.valueOf(value);
+    }
+
+    public boolean contains(int value) {
+        return value >= mMin && value <= mMax;
+    }
+
+    public int getMin() {
+        return mMin;
+    }
+
+    public int getMax() {
+        return mMax;
+    }
+
+}
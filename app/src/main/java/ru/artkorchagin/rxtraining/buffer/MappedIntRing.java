@@ -0,0 +1,85 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link IntRing} в отображённом в память временном файле для ёмкостей, которые не стоит
+ * держать в куче. Данные вытесняются на диск операционной системой, в куче остаётся только
+ * объект буфера.
+ * <p>
+ * Файл удаляется сразу после отображения: отображение остаётся действительным до сборки
+ * буфера мусорщиком, а на диске не остаётся файлов, даже если подписка была прервана. Там, где
+ * открытый файл удалить нельзя, он удаляется при завершении процесса.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class MappedIntRing implements IntRing {
+
+    /** Максимальная ёмкость одного отображения (2 ГБ) */
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE / 4;
+
+    private final int mCapacity;
+    private final IntBuffer mValues;
+    private int mSize;
+    private int mHead;
+
+    /**
+     * @param capacity  ёмкость буфера
+     * @param directory каталог для временного файла, {@code null} - системный каталог
+     *                  временных файлов
+     */
+    public MappedIntRing(int capacity, File directory) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        mCapacity = capacity;
+        File file = File.createTempFile("int-ring", ".bin", directory);
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            mValues = randomAccessFile.getChannel()
+                    .map(FileChannel.MapMode.READ_WRITE, 0, 4L * capacity)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        } finally {
+            randomAccessFile.close();
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    @Override
+    public void add(int value) {
+        if (mSize < mCapacity) {
+            mValues.put(mSize++, value);
+            return;
+        }
+        mValues.put(mHead, value);
+        mHead = mHead + 1 == mCapacity ? 0 : mHead + 1;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    public int capacity() {
+        return mCapacity;
+    }
+
+    @Override
+    public int get(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mSize);
+        }
+        int position = mHead + index;
+        return mValues.get(position < mCapacity ? position : position - mCapacity);
+    }
+}
@@ -0,0 +1,193 @@
+package ru.artkorchagin.rxtraining.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+
+/**
+ * Кэш результатов запросов с вытеснением по LRU, временем жизни записи и объединением
+ * одновременных запросов по одному ключу.
+ * <p>
+ * Пока запрос по ключу выполняется, все новые подписчики на этот ключ получают один и тот же
+ * {@link Observable}, т.е. пачка одинаковых запросов приводит только к одному вызову
+ * {@code loader}. Ошибки не кэшируются.
+ * <p>
+ * {@link #invalidate(Object)} и {@link #clear()} отвязывают уже выполняющиеся загрузки: их
+ * результат не попадает в кэш, а следующий запрос запускает новую загрузку.
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значения
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class CoalescingCache<K, V> {
+
+    private final long mTtlMills;
+    private final Scheduler mClock;
+    private final Function<K, Observable<V>> mLoader;
+
+    private final LruCache<K, CacheEntry<V>> mEntries;
+    private final Map<K, InFlight<V>> mInFlight = new HashMap<>();
+
+    private final AtomicLong mHitCount = new AtomicLong();
+    private final AtomicLong mMissCount = new AtomicLong();
+    private final AtomicLong mCoalesceCount = new AtomicLong();
+
+    /**
+     * @param maxSize максимальное количество записей, при превышении вытесняется запись, к
+     *                которой дольше всего не обращались
+     * @param ttl     время жизни записи
+     * @param unit    единица измерения {@code ttl}
+     * @param clock   {@link Scheduler}, по времени которого отсчитывается {@code ttl}
+     * @param loader  загрузка значения по ключу, последний элемент попадает в кэш
+     */
+    public CoalescingCache(int maxSize, long ttl, TimeUnit unit, Scheduler clock,
+                           Function<K, Observable<V>> loader) {
+        mEntries = new LruCache<>(maxSize);
+        mTtlMills = unit.toMillis(ttl);
+        mClock = clock;
+        mLoader = loader;
+    }
+
+    /**
+     * Получение значения по ключу
+     *
+     * @param key ключ
+     * @return {@link Observable} который эммитит значение из кэша, если оно ещё не устарело, либо
+     * результат загрузки через {@code loader}
+     */
+    public Observable<V> get(final K key) {
+        return Observable.defer(new Callable<ObservableSource<V>>() {
+            @Override
+            public ObservableSource<V> call() throws Exception {
+                return lookup(key);
+            }
+        });
+    }
+
+    private Observable<V> lookup(final K key) throws Exception {
+        synchronized (this) {
+            CacheEntry<V> entry = mEntries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now()) {
+                    mHitCount.incrementAndGet();
+                    return Observable.just(entry.value);
+                }
+                mEntries.remove(key);
+            }
+
+            InFlight<V> inFlight = mInFlight.get(key);
+            if (inFlight != null) {
+                mCoalesceCount.incrementAndGet();
+                return inFlight.request;
+            }
+
+            mMissCount.incrementAndGet();
+            // Загрузка сверяет себя с mInFlight, поэтому отвязанная загрузка ничего не меняет
+            final InFlight<V> load = new InFlight<>();
+            load.request = mLoader.apply(key)
+                    .doOnNext(new Consumer<V>() {
+                        @Override
+                        public void accept(V value) {
+                            put(key, load, value);
+                        }
+                    })
+                    .doOnTerminate(new Action() {
+                        @Override
+                        public void run() {
+                            removeInFlight(key, load);
+                        }
+                    })
+                    .cache();
+            mInFlight.put(key, load);
+            return load.request;
+        }
+    }
+
+    private synchronized void put(K key, InFlight<V> load, V value) {
+        if (mInFlight.get(key) == load) {
+            mEntries.put(key, new CacheEntry<>(value, now() + mTtlMills));
+        }
+    }
+
+    private synchronized void removeInFlight(K key, InFlight<V> load) {
+        if (mInFlight.get(key) == load) {
+            mInFlight.remove(key);
+        }
+    }
+
+    private long now() {
+        return mClock.now(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Удаление значения по ключу. Выполняющийся запрос при этом не прерывается, но его
+     * результат уже не попадёт в кэш
+     */
+    public synchronized void invalidate(K key) {
+        mEntries.remove(key);
+        mInFlight.remove(key);
+    }
+
+    /**
+     * Удаление всех значений, результаты выполняющихся запросов не попадут в кэш
+     */
+    public synchronized void clear() {
+        mEntries.clear();
+        mInFlight.clear();
+    }
+
+    /**
+     * @return количество записей в кэше, включая устаревшие, но ещё не удалённые
+     */
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    /**
+     * @return количество запросов, обслуженных из кэша
+     */
+    public long getHitCount() {
+        return mHitCount.get();
+    }
+
+    /**
+     * @return количество запросов, которые привели к вызову {@code loader}
+     */
+    public long getMissCount() {
+        return mMissCount.get();
+    }
+
+    /**
+     * @return количество запросов, присоединившихся к уже выполняющейся загрузке
+     */
+    public long getCoalesceCount() {
+        return mCoalesceCount.get();
+    }
+
+    private static final class InFlight<V> {
+
+        Observable<V> request;
+    }
+
+    private static final class CacheEntry<V> {
+
+        final V value;
+        final long expiresAt;
+
+        CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
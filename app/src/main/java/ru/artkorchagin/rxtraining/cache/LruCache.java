@@ -0,0 +1,54 @@
+package ru.artkorchagin.rxtraining.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Потокобезопасный кэш фиксированного размера с вытеснением записи, к которой дольше всего не
+ * обращались
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значения
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class LruCache<K, V> {
+
+    private final LinkedHashMap<K, V> mEntries;
+
+    public LruCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        mEntries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return значение по ключу, либо {@code null} если его нет
+     */
+    public synchronized V get(K key) {
+        return mEntries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        mEntries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        mEntries.remove(key);
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+    }
+
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+}
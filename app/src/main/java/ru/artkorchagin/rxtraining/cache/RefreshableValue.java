@@ -0,0 +1,146 @@
+package ru.artkorchagin.rxtraining.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Single;
+import io.reactivex.SingleSource;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Consumer;
+
+/**
+ * Лениво вычисляемое значение с общим результатом и фоновым обновлением.
+ * <ul>
+ * <li>первая подписка вычисляет значение на своём потоке, одновременные подписчики ждут того
+ * же вычисления;</li>
+ * <li>после истечения {@code ttl} подписчик сразу получает устаревшее значение, а обновление
+ * запускается в фоне на {@code scheduler} (stale-while-revalidate). Одновременно выполняется не
+ * больше одного обновления, при ошибке обновления остаётся старое значение;</li>
+ * <li>{@link #invalidate()} сбрасывает значение, и следующая подписка снова вычисляет его.</li>
+ * </ul>
+ *
+ * @param <T> тип значения
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class RefreshableValue<T> {
+
+    private final Callable<T> mLoader;
+    private final long mTtlMills;
+    private final Scheduler mScheduler;
+
+    private T mValue;
+    private long mLoadedAt;
+    private Single<T> mInitialLoad;
+    private boolean mRefreshing;
+    /**
+     * Увеличивается при {@link #invalidate()}, чтобы результаты начатых ранее вычислений не
+     * сохранились
+     */
+    private long mGeneration;
+
+    /**
+     * @param loader    вычисление значения
+     * @param ttl       время, после которого значение считается устаревшим
+     * @param unit      единица измерения {@code ttl}
+     * @param scheduler {@link Scheduler} для фонового обновления и отсчёта времени
+     */
+    public RefreshableValue(Callable<T> loader, long ttl, TimeUnit unit, Scheduler scheduler) {
+        mLoader = loader;
+        mTtlMills = unit.toMillis(ttl);
+        mScheduler = scheduler;
+    }
+
+    /**
+     * @return {@link Single} который эммитит текущее значение, вычисляя его при необходимости
+     */
+    public Single<T> get() {
+        return Single.defer(new Callable<SingleSource<T>>() {
+            @Override
+            public SingleSource<T> call() {
+                return lookup();
+            }
+        });
+    }
+
+    private synchronized Single<T> lookup() {
+        if (mValue != null) {
+            if (!mRefreshing && now() - mLoadedAt >= mTtlMills) {
+                mRefreshing = true;
+                refresh(mGeneration);
+            }
+            return Single.just(mValue);
+        }
+        if (mInitialLoad == null) {
+            final long generation = mGeneration;
+            mInitialLoad = Single.fromCallable(mLoader)
+                    .doOnSuccess(new Consumer<T>() {
+                        @Override
+                        public void accept(T value) {
+                            store(generation, value);
+                        }
+                    })
+                    .doOnError(new Consumer<Throwable>() {
+                        @Override
+                        public void accept(Throwable throwable) {
+                            onLoadFailed(generation);
+                        }
+                    })
+                    .cache();
+        }
+        return mInitialLoad;
+    }
+
+    private void refresh(final long generation) {
+        Single.fromCallable(mLoader)
+                .subscribeOn(mScheduler)
+                .subscribe(new Consumer<T>() {
+                    @Override
+                    public void accept(T value) {
+                        store(generation, value);
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable throwable) {
+                        onRefreshFailed(generation);
+                    }
+                });
+    }
+
+    private synchronized void store(long generation, T value) {
+        if (generation != mGeneration) {
+            return;
+        }
+        mValue = value;
+        mLoadedAt = now();
+        mInitialLoad = null;
+        mRefreshing = false;
+    }
+
+    private synchronized void onLoadFailed(long generation) {
+        if (generation == mGeneration) {
+            mInitialLoad = null;
+        }
+    }
+
+    private synchronized void onRefreshFailed(long generation) {
+        if (generation == mGeneration) {
+            mRefreshing = false;
+        }
+    }
+
+    /**
+     * Сброс значения, начатые вычисления не сохранят свой результат
+     */
+    public synchronized void invalidate() {
+        mGeneration++;
+        mValue = null;
+        mInitialLoad = null;
+        mRefreshing = false;
+    }
+
+    private long now() {
+        return mScheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -0,0 +1,102 @@
+package ru.artkorchagin.rxtraining.distinct;
+
+import java.util.Arrays;
+
+/**
+ * Множество чисел с открытой адресацией в массиве {@code int[]} и ограничением на количество
+ * элементов.
+ * <p>
+ * Пока количество различных чисел не достигло {@code capacity}, отсечение повторов точное. При
+ * достижении лимита множество очищается, и числа, встреченные до очистки, могут пройти ещё раз.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class BoundedIntHashSet implements IntDistinctFilter {
+
+    private static final int FREE = 0;
+
+    private final int mCapacity;
+    private final int[] mTable;
+    private final int mMask;
+    private boolean mHasFree;
+    private int mSize;
+    private long mResetCount;
+
+    /**
+     * @param capacity максимальное количество различных чисел между очистками
+     */
+    public BoundedIntHashSet(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        mCapacity = capacity;
+        // Заполненность таблицы не превышает 1/2, чтобы цепочки линейного пробирования были короткими
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        mTable = new int[tableSize];
+        mMask = tableSize - 1;
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (value == FREE) {
+            if (mHasFree) {
+                return false;
+            }
+            ensureSpace();
+            mHasFree = true;
+            mSize++;
+            return true;
+        }
+        int index = mix(value) & mMask;
+        int current;
+        while ((current = mTable[index]) != FREE) {
+            if (current == value) {
+                return false;
+            }
+            index = (index + 1) & mMask;
+        }
+        if (ensureSpace()) {
+            return add(value);
+        }
+        mTable[index] = value;
+        mSize++;
+        return true;
+    }
+
+    /**
+     * @return {@code true} если множество было очищено
+     */
+    private boolean ensureSpace() {
+        if (mSize < mCapacity) {
+            return false;
+        }
+        Arrays.fill(mTable, FREE);
+        mHasFree = false;
+        mSize = 0;
+        mResetCount++;
+        return true;
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return сколько раз множество было очищено из-за достижения лимита
+     */
+    public long getResetCount() {
+        return mResetCount;
+    }
+
+    @Override
+    public long getMemoryFootprint() {
+        return 16L + 4L * mTable.length + 40L;
+    }
+
+}
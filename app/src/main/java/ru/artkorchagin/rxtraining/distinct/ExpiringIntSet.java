@@ -0,0 +1,82 @@
+package ru.artkorchagin.rxtraining.distinct;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+
+/**
+ * Множество чисел, в котором каждое число хранится не дольше заданного окна.
+ * <p>
+ * Повтор отсекается, только если с момента первого появления числа прошло меньше окна.
+ * Дополнительно количество чисел ограничено {@code maxSize}: при превышении вытесняется самое
+ * старое.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class ExpiringIntSet implements IntDistinctFilter {
+
+    /**
+     * Примерный размер записи {@link LinkedHashMap} вместе с упакованными ключом и значением
+     */
+    private static final long ENTRY_FOOTPRINT = 40L + 16L + 24L;
+
+    private final long mWindowMills;
+    private final int mMaxSize;
+    private final Scheduler mClock;
+    private final LinkedHashMap<Integer, Long> mFirstSeen = new LinkedHashMap<>();
+
+    /**
+     * @param window  окно, в течение которого число считается встреченным
+     * @param unit    единица измерения {@code window}
+     * @param maxSize максимальное количество хранимых чисел
+     * @param clock   {@link Scheduler}, по времени которого отсчитывается окно
+     */
+    public ExpiringIntSet(long window, TimeUnit unit, int maxSize, Scheduler clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        mWindowMills = unit.toMillis(window);
+        mMaxSize = maxSize;
+        mClock = clock;
+    }
+
+    @Override
+    public boolean add(int value) {
+        long now = mClock.now(TimeUnit.MILLISECONDS);
+        expire(now);
+        if (mFirstSeen.containsKey(value)) {
+            return false;
+        }
+        if (mFirstSeen.size() >= mMaxSize) {
+            Iterator<Long> iterator = mFirstSeen.values().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+        mFirstSeen.put(value, now);
+        return true;
+    }
+
+    private void expire(long now) {
+        Iterator<Map.Entry<Integer, Long>> iterator = mFirstSeen.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() < mWindowMills) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    public int size() {
+        return mFirstSeen.size();
+    }
+
+    @Override
+    public long getMemoryFootprint() {
+        return 64L + ENTRY_FOOTPRINT * mFirstSeen.size();
+    }
+
+}
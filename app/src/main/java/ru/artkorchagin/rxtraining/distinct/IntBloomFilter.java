@@ -0,0 +1,76 @@
+package ru.artkorchagin.rxtraining.distinct;
+
+/**
+ * Фильтр Блума над числами. Память фиксирована и рассчитывается по ожидаемому количеству
+ * различных чисел и допустимой доле ложных срабатываний.
+ * <p>
+ * Ложное срабатывание означает, что новое число будет принято за повтор и отфильтровано.
+ * Повторы не пропускаются никогда. При превышении {@code expectedInsertions} доля ложных
+ * срабатываний растёт.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntBloomFilter implements IntDistinctFilter {
+
+    private final long[] mBits;
+    private final long mBitCount;
+    private final int mHashCount;
+
+    /**
+     * @param expectedInsertions ожидаемое количество различных чисел
+     * @param falsePositiveRate  допустимая доля ложных срабатываний, от 0 до 1
+     */
+    public IntBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions > 0 required but it was "
+                    + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate out of range: "
+                    + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        mBits = new long[(int) ((bits + 63) >>> 6)];
+        mBitCount = (long) mBits.length << 6;
+        mHashCount = Math.max(1, (int) Math.round((double) mBitCount / expectedInsertions * ln2));
+    }
+
+    @Override
+    public boolean add(int value) {
+        // Двойное хеширование: i-й индекс = h1 + i * h2
+        long h1 = fmix(value) & 0xFFFFFFFFL;
+        long h2 = (fmix(value ^ 0x5BD1E995) & 0xFFFFFFFFL) | 1;
+        boolean added = false;
+        for (int i = 0; i < mHashCount; i++) {
+            long index = (h1 + i * h2) % mBitCount;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((mBits[word] & mask) == 0) {
+                mBits[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    private static int fmix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    public int getHashCount() {
+        return mHashCount;
+    }
+
+    @Override
+    public long getMemoryFootprint() {
+        return 16L + 8L * mBits.length + 32L;
+    }
+
+}
@@ -0,0 +1,25 @@
+package ru.artkorchagin.rxtraining.distinct;
+
+/**
+ * Хранилище уже встреченных чисел для отсечения повторов с ограниченным расходом памяти.
+ * <p>
+ * Реализации хранят состояние и не потокобезопасны: на каждую подписку нужен свой экземпляр.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public interface IntDistinctFilter {
+
+    /**
+     * Запоминание числа
+     *
+     * @return {@code true} если число встречается впервые (с точностью реализации)
+     */
+    boolean add(int value);
+
+    /**
+     * @return примерный объём памяти, занятой фильтром, в байтах
+     */
+    long getMemoryFootprint();
+
+}
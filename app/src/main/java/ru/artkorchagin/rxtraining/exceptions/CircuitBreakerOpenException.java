@@ -0,0 +1,15 @@
+package ru.artkorchagin.rxtraining.exceptions;
+
+/**
+ * Вызов отклонён без выполнения, так как предохранитель
+ * {@link ru.artkorchagin.rxtraining.resilience.CircuitBreaker} разомкнут
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException() {
+        super("Circuit breaker is open");
+    }
+}
@@ -0,0 +1,73 @@
+package ru.artkorchagin.rxtraining.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Метрики очереди между источником без обратного давления и медленным получателем:
+ * наибольшая глубина очереди (high-water mark), количество отброшенных элементов и
+ * переполнений с ошибкой.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class BackpressureMetrics {
+
+    private final String mName;
+    private final AtomicLong mHighWaterMark = new AtomicLong();
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final AtomicLong mOverflowCount = new AtomicLong();
+
+    public BackpressureMetrics(String name) {
+        mName = name;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * @param queueSize текущая глубина очереди
+     */
+    public void recordQueueSize(long queueSize) {
+        long max;
+        while (queueSize > (max = mHighWaterMark.get())) {
+            if (mHighWaterMark.compareAndSet(max, queueSize)) {
+                break;
+            }
+        }
+    }
+
+    public void recordDropped() {
+        mDroppedCount.incrementAndGet();
+    }
+
+    public void recordOverflow() {
+        mOverflowCount.incrementAndGet();
+    }
+
+    /**
+     * @return наибольшая глубина очереди за всё время
+     */
+    public long getHighWaterMark() {
+        return mHighWaterMark.get();
+    }
+
+    public long getDroppedCount() {
+        return mDroppedCount.get();
+    }
+
+    /**
+     * @return количество переполнений, завершившихся ошибкой
+     */
+    public long getOverflowCount() {
+        return mOverflowCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return mName + "{highWaterMark=" + getHighWaterMark()
+                + ", dropped=" + getDroppedCount()
+                + ", overflows=" + getOverflowCount() + "}";
+    }
+
+}
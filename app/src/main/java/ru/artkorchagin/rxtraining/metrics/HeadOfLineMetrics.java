@@ -0,0 +1,85 @@
+package ru.artkorchagin.rxtraining.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Метрики блокировки в начале очереди (head-of-line blocking) для упорядоченного слияния
+ * внутренних источников. Источник, завершившийся раньше предыдущих, считается
+ * заблокированным: его результаты ждут, пока не будут выпущены все предыдущие. Время
+ * блокировки - от завершения источника до момента, когда он становится первым в очереди.
+ * <p>
+ * Методы {@code record*} вызываются оператором и не берут блокировок.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class HeadOfLineMetrics {
+
+    private final AtomicLong mReleasedCount = new AtomicLong();
+    private final AtomicLong mBlockedCount = new AtomicLong();
+    private final AtomicLong mMaxWaitingCount = new AtomicLong();
+    private final LatencyHistogram mBlockedTime = new LatencyHistogram();
+
+    /**
+     * Внутренний источник полностью выпущен
+     */
+    public void recordRelease() {
+        mReleasedCount.incrementAndGet();
+    }
+
+    /**
+     * Внутренний источник стал первым в очереди уже завершённым
+     *
+     * @param blockedNanos сколько источник ждал после своего завершения
+     */
+    public void recordBlocked(long blockedNanos) {
+        mBlockedCount.incrementAndGet();
+        mBlockedTime.record(blockedNanos);
+    }
+
+    /**
+     * @param waitingCount количество внутренних источников в очереди за первым
+     */
+    public void recordWaiting(long waitingCount) {
+        long max;
+        while (waitingCount > (max = mMaxWaitingCount.get())) {
+            if (mMaxWaitingCount.compareAndSet(max, waitingCount)) {
+                break;
+            }
+        }
+    }
+
+    public long getReleasedCount() {
+        return mReleasedCount.get();
+    }
+
+    /**
+     * @return количество источников, завершившихся раньше предыдущих
+     */
+    public long getBlockedCount() {
+        return mBlockedCount.get();
+    }
+
+    /**
+     * @return наибольшее количество источников, ожидавших за первым в очереди
+     */
+    public long getMaxWaitingCount() {
+        return mMaxWaitingCount.get();
+    }
+
+    /**
+     * @return время блокировки заблокированных источников, в наносекундах
+     */
+    public LatencyHistogram.Snapshot getBlockedTime() {
+        return mBlockedTime.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return "HeadOfLine{released=" + getReleasedCount()
+                + ", blocked=" + getBlockedCount()
+                + ", maxWaiting=" + getMaxWaitingCount()
+                + ", blockedTime[" + getBlockedTime() + "]}";
+    }
+
+}
@@ -0,0 +1,138 @@
+package ru.artkorchagin.rxtraining.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма задержек в наносекундах с логарифмически-линейными корзинами в духе
+ * HdrHistogram: каждый интервал {@code [2^n, 2^(n+1))} делится на 32 равные корзины, что даёт
+ * относительную погрешность не хуже ~3% на всём диапазоне {@code long}.
+ * <p>
+ * Запись не берёт блокировок и не выделяет память: одна атомарная операция над корзиной и
+ * счётчиками.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray mCounts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong mTotalSum = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    /**
+     * Запись значения, отрицательные значения считаются нулём
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        mCounts.incrementAndGet(indexOf(value));
+        mTotalSum.addAndGet(value);
+        long max;
+        while (value > (max = mMax.get())) {
+            if (mMax.compareAndSet(max, value)) {
+                break;
+            }
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int top = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (top - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return (top - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @return наибольшее значение, попадающее в корзину {@code index}
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int top = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        int shift = top - SUB_BUCKET_BITS;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+
+    /**
+     * @return копия текущего состояния гистограммы
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long totalCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = mCounts.get(i);
+            totalCount += counts[i];
+        }
+        return new Snapshot(counts, totalCount, mTotalSum.get(), mMax.get());
+    }
+
+    /**
+     * Неизменяемый снимок гистограммы
+     */
+    public static final class Snapshot {
+
+        private final long[] mCounts;
+        private final long mTotalCount;
+        private final long mTotalSum;
+        private final long mMax;
+
+        Snapshot(long[] counts, long totalCount, long totalSum, long max) {
+            mCounts = counts;
+            mTotalCount = totalCount;
+            mTotalSum = totalSum;
+            mMax = max;
+        }
+
+        public long getCount() {
+            return mTotalCount;
+        }
+
+        public long getMax() {
+            return mMax;
+        }
+
+        public double getMean() {
+            return mTotalCount == 0 ? 0 : (double) mTotalSum / mTotalCount;
+        }
+
+        /**
+         * @param percentile перцентиль от 0 до 100
+         * @return значение, не меньше которого {@code percentile} процентов записанных значений
+         * (с точностью до корзины), либо 0 для пустой гистограммы
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (mTotalCount == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(percentile / 100 * mTotalCount));
+            long seen = 0;
+            for (int i = 0; i < mCounts.length; i++) {
+                seen += mCounts[i];
+                if (seen >= target) {
+                    return Math.min(highestValueOf(i), mMax);
+                }
+            }
+            return mMax;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + mTotalCount
+                    + ", mean=" + (long) getMean()
+                    + ", p50=" + getValueAtPercentile(50)
+                    + ", p99=" + getValueAtPercentile(99)
+                    + ", max=" + mMax;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package ru.artkorchagin.rxtraining.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Реестр метрик цепочек по имени
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class MetricsRegistry {
+
+    private final ConcurrentMap<String, PipelineMetrics> mMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * @return метрики цепочки с именем {@code name}, создаются при первом обращении
+     */
+    public PipelineMetrics get(String name) {
+        PipelineMetrics metrics = mMetrics.get(name);
+        if (metrics == null) {
+            PipelineMetrics created = new PipelineMetrics(name);
+            metrics = mMetrics.putIfAbsent(name, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return снимки метрик всех зарегистрированных цепочек
+     */
+    public List<MetricsSnapshot> snapshots() {
+        List<MetricsSnapshot> snapshots = new ArrayList<>(mMetrics.size());
+        for (PipelineMetrics metrics : mMetrics.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        return snapshots;
+    }
+
+}
@@ -0,0 +1,104 @@
+package ru.artkorchagin.rxtraining.metrics;
+
+/**
+ * Неизменяемый снимок метрик цепочки {@link PipelineMetrics}
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class MetricsSnapshot {
+
+    private final String mName;
+    private final long mSubscriptionCount;
+    private final long mItemCount;
+    private final double mItemsPerSecond;
+    private final long mErrorCount;
+    private final long mCompletionCount;
+    private final long mQueueDepth;
+    private final long mMaxQueueDepth;
+    private final LatencyHistogram.Snapshot mTimeToFirstItem;
+    private final LatencyHistogram.Snapshot mInterItemLatency;
+
+    MetricsSnapshot(String name, long subscriptionCount, long itemCount, double itemsPerSecond,
+                    long errorCount, long completionCount, long queueDepth, long maxQueueDepth,
+                    LatencyHistogram.Snapshot timeToFirstItem,
+                    LatencyHistogram.Snapshot interItemLatency) {
+        mName = name;
+        mSubscriptionCount = subscriptionCount;
+        mItemCount = itemCount;
+        mItemsPerSecond = itemsPerSecond;
+        mErrorCount = errorCount;
+        mCompletionCount = completionCount;
+        mQueueDepth = queueDepth;
+        mMaxQueueDepth = maxQueueDepth;
+        mTimeToFirstItem = timeToFirstItem;
+        mInterItemLatency = interItemLatency;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public long getSubscriptionCount() {
+        return mSubscriptionCount;
+    }
+
+    public long getItemCount() {
+        return mItemCount;
+    }
+
+    /**
+     * @return среднее количество элементов в секунду с момента первой подписки
+     */
+    public double getItemsPerSecond() {
+        return mItemsPerSecond;
+    }
+
+    public long getErrorCount() {
+        return mErrorCount;
+    }
+
+    public long getCompletionCount() {
+        return mCompletionCount;
+    }
+
+    /**
+     * @return текущее количество элементов между {@link PipelineMetrics#enterBoundary()} и
+     * {@link PipelineMetrics#exitBoundary()}
+     */
+    public long getQueueDepth() {
+        return mQueueDepth;
+    }
+
+    public long getMaxQueueDepth() {
+        return mMaxQueueDepth;
+    }
+
+    /**
+     * @return время от подписки до первого элемента, в наносекундах
+     */
+    public LatencyHistogram.Snapshot getTimeToFirstItem() {
+        return mTimeToFirstItem;
+    }
+
+    /**
+     * @return время между соседними элементами одной подписки, в наносекундах
+     */
+    public LatencyHistogram.Snapshot getInterItemLatency() {
+        return mInterItemLatency;
+    }
+
+    @Override
+    public String toString() {
+        return mName + "{subscriptions=" + mSubscriptionCount
+                + ", items=" + mItemCount
+                + ", items/sec=" + (long) mItemsPerSecond
+                + ", errors=" + mErrorCount
+                + ", completions=" + mCompletionCount
+                + ", queueDepth=" + mQueueDepth
+                + ", maxQueueDepth=" + mMaxQueueDepth
+                + ", timeToFirstItem[" + mTimeToFirstItem + "]"
+                + ", interItemLatency[" + mInterItemLatency + "]}";
+    }
+
+}
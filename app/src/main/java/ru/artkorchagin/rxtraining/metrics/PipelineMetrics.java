@@ -0,0 +1,423 @@
+package ru.artkorchagin.rxtraining.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Completable;
+import io.reactivex.CompletableObserver;
+import io.reactivex.CompletableOperator;
+import io.reactivex.CompletableSource;
+import io.reactivex.CompletableTransformer;
+import io.reactivex.Maybe;
+import io.reactivex.MaybeObserver;
+import io.reactivex.MaybeOperator;
+import io.reactivex.MaybeSource;
+import io.reactivex.MaybeTransformer;
+import io.reactivex.Observable;
+import io.reactivex.ObservableOperator;
+import io.reactivex.ObservableSource;
+import io.reactivex.ObservableTransformer;
+import io.reactivex.Observer;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.SingleOperator;
+import io.reactivex.SingleSource;
+import io.reactivex.SingleTransformer;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Метрики одной цепочки операторов. Подключаются через {@code compose}:
+ * <pre>{@code
+ * training.transformIntToString(ints).compose(metrics.<String>observable())
+ * }</pre>
+ * Считаются количество подписок, элементов, ошибок и завершений, время до первого элемента и
+ * гистограмма задержек между элементами. Для асинхронных границ ({@code observeOn},
+ * {@code subscribeOn} и т.п.) глубина очереди считается как разница между элементами,
+ * прошедшими {@link #enterBoundary()} и {@link #exitBoundary()}.
+ * <p>
+ * На элемент не берутся блокировки и не выделяется память, только атомарные счётчики.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class PipelineMetrics {
+
+    private final String mName;
+
+    private final AtomicLong mSubscriptionCount = new AtomicLong();
+    private final AtomicLong mItemCount = new AtomicLong();
+    private final AtomicLong mErrorCount = new AtomicLong();
+    private final AtomicLong mCompletionCount = new AtomicLong();
+    private final AtomicLong mEnqueuedCount = new AtomicLong();
+    private final AtomicLong mDequeuedCount = new AtomicLong();
+    private final AtomicLong mMaxQueueDepth = new AtomicLong();
+    private final AtomicLong mFirstSubscriptionNanos = new AtomicLong();
+
+    private final LatencyHistogram mTimeToFirstItem = new LatencyHistogram();
+    private final LatencyHistogram mInterItemLatency = new LatencyHistogram();
+
+    public PipelineMetrics(String name) {
+        mName = name;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public <T> ObservableTransformer<T, T> observable() {
+        return new ObservableTransformer<T, T>() {
+            @Override
+            public ObservableSource<T> apply(Observable<T> upstream) {
+                return upstream.lift(new ObservableOperator<T, T>() {
+                    @Override
+                    public Observer<? super T> apply(Observer<? super T> observer) {
+                        return new MetricsObservableObserver<>(PipelineMetrics.this, observer);
+                    }
+                });
+            }
+        };
+    }
+
+    public <T> SingleTransformer<T, T> single() {
+        return new SingleTransformer<T, T>() {
+            @Override
+            public SingleSource<T> apply(Single<T> upstream) {
+                return upstream.lift(new SingleOperator<T, T>() {
+                    @Override
+                    public SingleObserver<? super T> apply(SingleObserver<? super T> observer) {
+                        return new MetricsSingleObserver<>(PipelineMetrics.this, observer);
+                    }
+                });
+            }
+        };
+    }
+
+    public <T> MaybeTransformer<T, T> maybe() {
+        return new MaybeTransformer<T, T>() {
+            @Override
+            public MaybeSource<T> apply(Maybe<T> upstream) {
+                return upstream.lift(new MaybeOperator<T, T>() {
+                    @Override
+                    public MaybeObserver<? super T> apply(MaybeObserver<? super T> observer) {
+                        return new MetricsMaybeObserver<>(PipelineMetrics.this, observer);
+                    }
+                });
+            }
+        };
+    }
+
+    public CompletableTransformer completable() {
+        return new CompletableTransformer() {
+            @Override
+            public CompletableSource apply(Completable upstream) {
+                return upstream.lift(new CompletableOperator() {
+                    @Override
+                    public CompletableObserver apply(CompletableObserver observer) {
+                        return new MetricsCompletableObserver(PipelineMetrics.this, observer);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Ставится перед асинхронной границей, считает элементы, попавшие в её очередь
+     */
+    public <T> ObservableTransformer<T, T> enterBoundary() {
+        return new BoundaryTransformer<>(true);
+    }
+
+    /**
+     * Ставится после асинхронной границы, считает элементы, покинувшие её очередь
+     */
+    public <T> ObservableTransformer<T, T> exitBoundary() {
+        return new BoundaryTransformer<>(false);
+    }
+
+    public MetricsSnapshot snapshot() {
+        long now = System.nanoTime();
+        long first = mFirstSubscriptionNanos.get();
+        long items = mItemCount.get();
+        double elapsedSeconds = first == 0 ? 0 : (now - first) / 1e9;
+        long dequeued = mDequeuedCount.get();
+        return new MetricsSnapshot(mName,
+                mSubscriptionCount.get(),
+                items,
+                elapsedSeconds > 0 ? items / elapsedSeconds : 0,
+                mErrorCount.get(),
+                mCompletionCount.get(),
+                mEnqueuedCount.get() - dequeued,
+                mMaxQueueDepth.get(),
+                mTimeToFirstItem.snapshot(),
+                mInterItemLatency.snapshot());
+    }
+
+    long onSubscribed() {
+        long now = System.nanoTime();
+        mSubscriptionCount.incrementAndGet();
+        mFirstSubscriptionNanos.compareAndSet(0, now);
+        return now;
+    }
+
+    void onItem(long sinceSubscribeOrPrevious, boolean first) {
+        mItemCount.incrementAndGet();
+        (first ? mTimeToFirstItem : mInterItemLatency).record(sinceSubscribeOrPrevious);
+    }
+
+    void onError() {
+        mErrorCount.incrementAndGet();
+    }
+
+    void onCompleted() {
+        mCompletionCount.incrementAndGet();
+    }
+
+    private void onEnqueued() {
+        long depth = mEnqueuedCount.incrementAndGet() - mDequeuedCount.get();
+        long max;
+        while (depth > (max = mMaxQueueDepth.get())) {
+            if (mMaxQueueDepth.compareAndSet(max, depth)) {
+                break;
+            }
+        }
+    }
+
+    private void onDequeued() {
+        mDequeuedCount.incrementAndGet();
+    }
+
+    /**
+     * Базовый подписчик-обёртка. Состояние подписки хранится в полях, поэтому на элемент память
+     * не выделяется
+     */
+    abstract static class MetricsObserver implements Disposable {
+
+        final PipelineMetrics mMetrics;
+        private Disposable mUpstream;
+        private long mLastNanos;
+        private boolean mHasItem;
+
+        MetricsObserver(PipelineMetrics metrics) {
+            mMetrics = metrics;
+        }
+
+        final void subscribed(Disposable d) {
+            mUpstream = d;
+            mLastNanos = mMetrics.onSubscribed();
+        }
+
+        final void item() {
+            long now = System.nanoTime();
+            mMetrics.onItem(now - mLastNanos, !mHasItem);
+            mHasItem = true;
+            mLastNanos = now;
+        }
+
+        @Override
+        public void dispose() {
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+
+    static final class MetricsObservableObserver<T> extends MetricsObserver implements Observer<T> {
+
+        private final Observer<? super T> mDownstream;
+
+        MetricsObservableObserver(PipelineMetrics metrics, Observer<? super T> downstream) {
+            super(metrics);
+            mDownstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            subscribed(d);
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T t) {
+            item();
+            mDownstream.onNext(t);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            mMetrics.onError();
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mMetrics.onCompleted();
+            mDownstream.onComplete();
+        }
+    }
+
+    static final class MetricsSingleObserver<T> extends MetricsObserver implements SingleObserver<T> {
+
+        private final SingleObserver<? super T> mDownstream;
+
+        MetricsSingleObserver(PipelineMetrics metrics, SingleObserver<? super T> downstream) {
+            super(metrics);
+            mDownstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            subscribed(d);
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onSuccess(T t) {
+            item();
+            mMetrics.onCompleted();
+            mDownstream.onSuccess(t);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            mMetrics.onError();
+            mDownstream.onError(e);
+        }
+    }
+
+    static final class MetricsMaybeObserver<T> extends MetricsObserver implements MaybeObserver<T> {
+
+        private final MaybeObserver<? super T> mDownstream;
+
+        MetricsMaybeObserver(PipelineMetrics metrics, MaybeObserver<? super T> downstream) {
+            super(metrics);
+            mDownstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            subscribed(d);
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onSuccess(T t) {
+            item();
+            mMetrics.onCompleted();
+            mDownstream.onSuccess(t);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            mMetrics.onError();
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mMetrics.onCompleted();
+            mDownstream.onComplete();
+        }
+    }
+
+    static final class MetricsCompletableObserver extends MetricsObserver implements CompletableObserver {
+
+        private final CompletableObserver mDownstream;
+
+        MetricsCompletableObserver(PipelineMetrics metrics, CompletableObserver downstream) {
+            super(metrics);
+            mDownstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            subscribed(d);
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            mMetrics.onError();
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mMetrics.onCompleted();
+            mDownstream.onComplete();
+        }
+    }
+
+    final class BoundaryTransformer<T> implements ObservableTransformer<T, T> {
+
+        private final boolean mEnter;
+
+        BoundaryTransformer(boolean enter) {
+            mEnter = enter;
+        }
+
+        @Override
+        public ObservableSource<T> apply(Observable<T> upstream) {
+            return upstream.lift(new ObservableOperator<T, T>() {
+                @Override
+                public Observer<? super T> apply(Observer<? super T> observer) {
+                    return new BoundaryObserver<>(observer, mEnter);
+                }
+            });
+        }
+    }
+
+    /**
+     * Собственный {@link Disposable} передаётся вниз намеренно: иначе асинхронная граница
+     * сольётся (fusion) с источником напрямую и элементы пройдут мимо счётчика
+     */
+    final class BoundaryObserver<T> implements Observer<T>, Disposable {
+
+        private final Observer<? super T> mDownstream;
+        private final boolean mEnter;
+        private Disposable mUpstream;
+
+        BoundaryObserver(Observer<? super T> downstream, boolean enter) {
+            mDownstream = downstream;
+            mEnter = enter;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (mEnter) {
+                onEnqueued();
+            } else {
+                onDequeued();
+            }
+            mDownstream.onNext(t);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mDownstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package ru.artkorchagin.rxtraining.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+
+/**
+ * Предохранитель (circuit breaker) по доле ошибок в последних {@code windowSize} вызовах.
+ * <ul>
+ * <li>{@link State#CLOSED} - вызовы разрешены, результаты записываются в окно. Когда в окне
+ * не меньше {@code minimumCalls} вызовов и доля ошибок достигает порога, предохранитель
+ * размыкается.</li>
+ * <li>{@link State#OPEN} - вызовы сразу отклоняются в течение {@code openDuration}.</li>
+ * <li>{@link State#HALF_OPEN} - разрешён один пробный вызов: успех замыкает предохранитель и
+ * очищает окно, ошибка снова размыкает.</li>
+ * </ul>
+ * Время берётся из {@link Scheduler#now(TimeUnit)}, поэтому в тестах можно использовать
+ * {@link io.reactivex.schedulers.TestScheduler}.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final double mFailureRateThreshold;
+    private final int mMinimumCalls;
+    private final long mOpenDurationMills;
+    private final Scheduler mClock;
+    /** Кольцо результатов последних вызовов, {@code true} - ошибка */
+    private final boolean[] mOutcomes;
+
+    private int mIndex;
+    private int mCallCount;
+    private int mFailureCount;
+    private State mState = State.CLOSED;
+    private long mOpenedAtMills;
+    private boolean mTrialInFlight;
+
+    /**
+     * @param failureRateThreshold доля ошибок от 0 до 1, при которой предохранитель
+     *                             размыкается
+     * @param windowSize           количество последних вызовов, по которым считается доля
+     * @param minimumCalls         минимальное количество вызовов в окне для размыкания
+     * @param openDuration         время, в течение которого вызовы отклоняются
+     * @param unit                 единица измерения {@code openDuration}
+     * @param clock                источник времени
+     */
+    public CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls,
+                          long openDuration, TimeUnit unit, Scheduler clock) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold out of range: "
+                    + failureRateThreshold);
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize > 0 required but it was " + windowSize);
+        }
+        mFailureRateThreshold = failureRateThreshold;
+        mOutcomes = new boolean[windowSize];
+        mMinimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+        mOpenDurationMills = unit.toMillis(openDuration);
+        mClock = clock;
+    }
+
+    /**
+     * Разрешение на вызов. После разрешения вызывающий обязан сообщить результат через
+     * {@link #onSuccess()}, {@link #onError()} или {@link #onCancel()}
+     *
+     * @return {@code false}, если вызов нужно отклонить
+     */
+    public synchronized boolean tryAcquire() {
+        switch (mState) {
+            case OPEN:
+                if (mClock.now(TimeUnit.MILLISECONDS) - mOpenedAtMills < mOpenDurationMills) {
+                    return false;
+                }
+                mState = State.HALF_OPEN;
+                mTrialInFlight = true;
+                return true;
+            case HALF_OPEN:
+                if (mTrialInFlight) {
+                    return false;
+                }
+                mTrialInFlight = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (mState == State.HALF_OPEN) {
+            close();
+        } else if (mState == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onError() {
+        if (mState == State.HALF_OPEN) {
+            open();
+        } else if (mState == State.CLOSED) {
+            record(true);
+            if (mCallCount >= mMinimumCalls
+                    && mFailureCount >= mFailureRateThreshold * mCallCount) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Вызов отменён без результата
+     */
+    public synchronized void onCancel() {
+        if (mState == State.HALF_OPEN) {
+            mTrialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return mState;
+    }
+
+    /**
+     * @return доля ошибок в текущем окне
+     */
+    public synchronized double getFailureRate() {
+        return mCallCount == 0 ? 0 : (double) mFailureCount / mCallCount;
+    }
+
+    private void record(boolean failure) {
+        if (mCallCount == mOutcomes.length) {
+            if (mOutcomes[mIndex]) {
+                mFailureCount--;
+            }
+        } else {
+            mCallCount++;
+        }
+        mOutcomes[mIndex] = failure;
+        if (failure) {
+            mFailureCount++;
+        }
+        mIndex = mIndex + 1 == mOutcomes.length ? 0 : mIndex + 1;
+    }
+
+    private void open() {
+        mState = State.OPEN;
+        mOpenedAtMills = mClock.now(TimeUnit.MILLISECONDS);
+        mTrialInFlight = false;
+    }
+
+    private void close() {
+        mState = State.CLOSED;
+        mTrialInFlight = false;
+        mIndex = 0;
+        mCallCount = 0;
+        mFailureCount = 0;
+    }
+
+}
@@ -0,0 +1,56 @@
+package ru.artkorchagin.rxtraining.resilience;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Экспоненциальная задержка с полным случайным разбросом (full jitter): перед повтором
+ * {@code n} ждём случайное время от 0 до {@code min(maxDelay, baseDelay * 2^(n-1))}. Разброс не
+ * даёт повторам многих клиентов собираться в одновременные волны.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class ExponentialBackoff {
+
+    private final long mBaseNanos;
+    private final long mMaxNanos;
+    private final Random mRandom;
+
+    public ExponentialBackoff(long baseDelay, long maxDelay, TimeUnit unit) {
+        this(baseDelay, maxDelay, unit, new Random());
+    }
+
+    /**
+     * @param random источник случайности, в тестах можно передать с фиксированным зерном
+     */
+    public ExponentialBackoff(long baseDelay, long maxDelay, TimeUnit unit, Random random) {
+        if (baseDelay <= 0 || maxDelay < baseDelay) {
+            throw new IllegalArgumentException("0 < baseDelay <= maxDelay required but it was "
+                    + baseDelay + ", " + maxDelay);
+        }
+        mBaseNanos = unit.toNanos(baseDelay);
+        mMaxNanos = unit.toNanos(maxDelay);
+        mRandom = random;
+    }
+
+    /**
+     * @param attempt номер повтора, начиная с 1
+     * @return задержка перед повтором в наносекундах
+     */
+    public long delayNanos(int attempt) {
+        return (long) (mRandom.nextDouble() * (maxDelayNanos(attempt) + 1));
+    }
+
+    /**
+     * @return верхняя граница задержки перед повтором {@code attempt}
+     */
+    public long maxDelayNanos(int attempt) {
+        int shift = Math.max(0, attempt - 1);
+        if (shift >= Long.numberOfLeadingZeros(mBaseNanos) - 1) {
+            return mMaxNanos;
+        }
+        return Math.min(mMaxNanos, mBaseNanos << shift);
+    }
+
+}
@@ -0,0 +1,155 @@
+package ru.artkorchagin.rxtraining.resilience;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.ObservableTransformer;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleSource;
+import io.reactivex.SingleTransformer;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import ru.artkorchagin.rxtraining.exceptions.CircuitBreakerOpenException;
+
+/**
+ * Устойчивость к сбоям для любой цепочки. Подключается через {@code compose}:
+ * <pre>{@code
+ * Observable.fromCallable(...).compose(policy.<Integer>observable())
+ * }</pre>
+ * Каждая подписка проходит через {@link CircuitBreaker}: при разомкнутом предохранителе
+ * сразу приходит {@link CircuitBreakerOpenException}, без вызова источника и без повторов.
+ * Ошибки повторяются не больше {@code maxRetries} раз с задержкой {@link ExponentialBackoff},
+ * пока хватает общего {@link RetryBudget}. Задержка и повторная подписка выполняются на
+ * {@code retryScheduler}, вызывающий поток не блокируется.
+ * <p>
+ * Один экземпляр политики, бюджета и предохранителя разделяется всеми вызовами одного
+ * сервиса.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class ResiliencePolicy {
+
+    private final int mMaxRetries;
+    private final ExponentialBackoff mBackoff;
+    private final RetryBudget mRetryBudget;
+    private final CircuitBreaker mCircuitBreaker;
+    private final Scheduler mRetryScheduler;
+
+    /**
+     * @param maxRetries     максимальное количество повторов одной подписки
+     * @param backoff        задержки между повторами
+     * @param retryBudget    общий бюджет повторов, {@code null} - без ограничения
+     * @param circuitBreaker предохранитель, {@code null} - без предохранителя
+     * @param retryScheduler планировщик задержек и повторных подписок
+     */
+    public ResiliencePolicy(int maxRetries, ExponentialBackoff backoff, RetryBudget retryBudget,
+                            CircuitBreaker circuitBreaker, Scheduler retryScheduler) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries >= 0 required but it was " + maxRetries);
+        }
+        mMaxRetries = maxRetries;
+        mBackoff = backoff;
+        mRetryBudget = retryBudget;
+        mCircuitBreaker = circuitBreaker;
+        mRetryScheduler = retryScheduler;
+    }
+
+    public <T> ObservableTransformer<T, T> observable() {
+        return new ObservableTransformer<T, T>() {
+            @Override
+            public ObservableSource<T> apply(Observable<T> upstream) {
+                return withRetries(guarded(upstream));
+            }
+        };
+    }
+
+    public <T> SingleTransformer<T, T> single() {
+        return new SingleTransformer<T, T>() {
+            @Override
+            public SingleSource<T> apply(Single<T> upstream) {
+                return upstream.toObservable().compose(ResiliencePolicy.this.<T>observable())
+                        .singleOrError();
+            }
+        };
+    }
+
+    /**
+     * Одна попытка: проверка предохранителя и запись результата
+     */
+    private <T> Observable<T> guarded(final Observable<T> upstream) {
+        final CircuitBreaker breaker = mCircuitBreaker;
+        if (breaker == null) {
+            return upstream;
+        }
+        return Observable.defer(new Callable<ObservableSource<T>>() {
+            @Override
+            public ObservableSource<T> call() {
+                if (!breaker.tryAcquire()) {
+                    return Observable.error(new CircuitBreakerOpenException());
+                }
+                return upstream
+                        .doOnComplete(new Action() {
+                            @Override
+                            public void run() {
+                                breaker.onSuccess();
+                            }
+                        })
+                        .doOnError(new Consumer<Throwable>() {
+                            @Override
+                            public void accept(Throwable throwable) {
+                                breaker.onError();
+                            }
+                        })
+                        .doOnDispose(new Action() {
+                            @Override
+                            public void run() {
+                                breaker.onCancel();
+                            }
+                        });
+            }
+        });
+    }
+
+    private <T> Observable<T> withRetries(final Observable<T> attempt) {
+        return Observable.defer(new Callable<ObservableSource<T>>() {
+            @Override
+            public ObservableSource<T> call() {
+                if (mRetryBudget != null) {
+                    mRetryBudget.deposit();
+                }
+                return attempt.retryWhen(new Function<Observable<Throwable>, ObservableSource<?>>() {
+                    @Override
+                    public ObservableSource<?> apply(Observable<Throwable> errors) {
+                        return errors.flatMap(new RetryHandler());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Решение о повторе, создаётся на каждую подписку
+     */
+    final class RetryHandler implements Function<Throwable, ObservableSource<Long>> {
+
+        private int mAttempt;
+
+        @Override
+        public ObservableSource<Long> apply(Throwable error) {
+            int attempt = ++mAttempt;
+            if (error instanceof CircuitBreakerOpenException
+                    || attempt > mMaxRetries
+                    || (mRetryBudget != null && !mRetryBudget.tryWithdraw())) {
+                return Observable.error(error);
+            }
+            return Observable.timer(mBackoff.delayNanos(attempt), TimeUnit.NANOSECONDS,
+                    mRetryScheduler);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package ru.artkorchagin.rxtraining.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Общий для всех подписок бюджет повторов. Каждый первый вызов пополняет бюджет на
+ * {@code retryRatio} токена, каждый повтор тратит один токен. Поэтому при массовых ошибках
+ * повторов не больше {@code retryRatio} от количества вызовов, и нагрузка на падающий сервер
+ * не умножается.
+ * <p>
+ * Бюджет создаётся заполненным на {@code maxTokens} токенов, чтобы единичные ошибки в начале
+ * работы тоже повторялись.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class RetryBudget {
+
+    /** Токены хранятся в тысячных долях, чтобы обойтись без дробных атомиков */
+    private static final long TOKEN = 1000;
+
+    private final long mDeposit;
+    private final long mMaxBalance;
+    private final AtomicLong mBalance;
+
+    /**
+     * @param retryRatio допустимая доля повторов от количества вызовов, например 0.1
+     * @param maxTokens  максимальное количество накопленных повторов
+     */
+    public RetryBudget(double retryRatio, int maxTokens) {
+        if (retryRatio < 0) {
+            throw new IllegalArgumentException("retryRatio >= 0 required but it was " + retryRatio);
+        }
+        if (maxTokens < 0) {
+            throw new IllegalArgumentException("maxTokens >= 0 required but it was " + maxTokens);
+        }
+        mDeposit = (long) (retryRatio * TOKEN);
+        mMaxBalance = maxTokens * TOKEN;
+        mBalance = new AtomicLong(mMaxBalance);
+    }
+
+    /**
+     * Пополнение бюджета при первом вызове
+     */
+    public void deposit() {
+        for (;;) {
+            long balance = mBalance.get();
+            long updated = Math.min(mMaxBalance, balance + mDeposit);
+            if (updated == balance || mBalance.compareAndSet(balance, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true}, если на повтор хватило токена
+     */
+    public boolean tryWithdraw() {
+        for (;;) {
+            long balance = mBalance.get();
+            if (balance < TOKEN) {
+                return false;
+            }
+            if (mBalance.compareAndSet(balance, balance - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return доступное количество повторов, может быть дробным
+     */
+    public double getBalance() {
+        return (double) mBalance.get() / TOKEN;
+    }
+
+}
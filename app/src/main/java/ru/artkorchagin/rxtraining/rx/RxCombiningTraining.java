@@ -4,8 +4,17 @@ package ru.artkorchagin.rxtraining.rx;
 import java.util.Collections;
 import java.util.List;
 
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.BiPredicate;
+import io.reactivex.schedulers.Schedulers;
 import ru.artkorchagin.rxtraining.exceptions.NotImplementedException;
+import ru.artkorchagin.rxtraining.rx.operators.FlowableIntZipSum;
+import ru.artkorchagin.rxtraining.rx.operators.OverflowPolicy;
+import ru.artkorchagin.rxtraining.rx.schedulers.BoundedBlockingScheduler;
+import ru.artkorchagin.rxtraining.search.SearchEngine;
 
 /**
  * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
@@ -69,6 +78,141 @@ public class RxCombiningTraining {
         throw new NotImplementedException();
     }
 
+    /* Производительные варианты */
+
+    /**
+     * Суммирование элементов двух последовательностей с ограниченной буферизацией.
+     *
+     * @param prefetch         максимальное количество элементов, которое буферизуется для
+     *                         каждой последовательности
+     * @param integerFlowable1 {@link Flowable} с произвольным количеством рандомных чисел
+     * @param integerFlowable2 {@link Flowable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} который эммитит числа, где i-й элемент равен сумме i-го элемента
+     * {@code integerFlowable1} и i-го элемента {@code integerFlowable2}. Более быстрая
+     * последовательность притормаживается через backpressure. {@code onComplete} и
+     * {@code onError} ведут себя так же, как в {@link #summation(Observable, Observable)}
+     */
+    public Flowable<Integer> summation(int prefetch, Flowable<Integer> integerFlowable1,
+                                       Flowable<Integer> integerFlowable2) {
+        return new FlowableIntZipSum(integerFlowable1, integerFlowable2, prefetch);
+    }
+
+    /**
+     * Поисковый движок поверх {@link #searchItems(String, int)}, поиск выполняется на
+     * {@link Schedulers#io()}
+     *
+     * @param debounceMills пауза во вводе в миллисекундах, после которой запускается поиск
+     * @param cacheSize     количество кэшируемых результатов
+     * @param itemMatcher   проверка (элемент, строка поиска), с которой согласован
+     *                      {@link #searchItems(String, int)}; {@code null} отключает фильтрацию
+     *                      результатов по префиксу строки
+     * @return {@link SearchEngine} для использования в
+     * {@link #requestItems(SearchEngine, Observable, Observable)}
+     */
+    public SearchEngine createSearchEngine(long debounceMills, int cacheSize,
+                                           BiPredicate<String, String> itemMatcher) {
+        return createSearchEngine(Schedulers.io(), debounceMills, cacheSize, itemMatcher);
+    }
+
+    /**
+     * Поисковый движок поверх {@link #searchItems(String, int)}, поиск выполняется на
+     * {@code searchScheduler}, пауза во вводе отсчитывается на {@link Schedulers#computation()}
+     *
+     * @param searchScheduler {@link Scheduler} для блокирующего поиска, например
+     *                        {@link BoundedBlockingScheduler} с ограниченным количеством потоков
+     * @param debounceMills   пауза во вводе в миллисекундах, после которой запускается поиск
+     * @param cacheSize       количество кэшируемых результатов
+     * @param itemMatcher     см. {@link #createSearchEngine(long, int, BiPredicate)}
+     * @return {@link SearchEngine} для использования в
+     * {@link #requestItems(SearchEngine, Observable, Observable)}
+     */
+    public SearchEngine createSearchEngine(Scheduler searchScheduler, long debounceMills,
+                                           int cacheSize, BiPredicate<String, String> itemMatcher) {
+        return new SearchEngine(debounceMills, cacheSize, searchScheduler, Schedulers.computation(),
+                new BiFunction<String, Integer, List<String>>() {
+                    @Override
+                    public List<String> apply(String searchString, Integer categoryId) {
+                        return searchItems(searchString, categoryId);
+                    }
+                }, itemMatcher);
+    }
+
+    /**
+     * Поиск элементов по выбранной строке и категории с задержкой ввода, отменой устаревших
+     * запросов и кэшированием результатов
+     *
+     * @param searchEngine       движок, созданный {@link #createSearchEngine(long, int, BiPredicate)}
+     * @param searchObservable   Последовательность поисковых строк
+     * @param categoryObservable Последовательность категорий, которые необходимо отобразить
+     * @return {@link Observable}  который эммитит списки элементов, с учётом последней поисковой
+     * строки из {@code searchObservable} и выбранной категории из {@code categoryObservable}
+     * @see #requestItems(Observable, Observable)
+     */
+    public Observable<List<String>> requestItems(SearchEngine searchEngine,
+                                                 Observable<String> searchObservable,
+                                                 Observable<Integer> categoryObservable) {
+        return searchEngine.results(searchObservable, categoryObservable);
+    }
+
+    /**
+     * {@link #summation(Observable, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy     стратегия переполнения, размер очереди и метрики
+     * @param integerObservable1 {@link Observable} с произвольным количеством рандомных чисел
+     * @param integerObservable2 {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #summation(Observable, Observable)}
+     */
+    public Flowable<Integer> summation(OverflowPolicy overflowPolicy,
+                                       Observable<Integer> integerObservable1,
+                                       Observable<Integer> integerObservable2) {
+        return overflowPolicy.toFlowable(summation(integerObservable1, integerObservable2));
+    }
+
+    /**
+     * {@link #requestItems(Observable, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy     стратегия переполнения, размер очереди и метрики
+     * @param searchObservable   Последовательность поисковых строк
+     * @param categoryObservable Последовательность категорий
+     * @return {@link Flowable} с элементами {@link #requestItems(Observable, Observable)}
+     */
+    public Flowable<List<String>> requestItems(OverflowPolicy overflowPolicy,
+                                               Observable<String> searchObservable,
+                                               Observable<Integer> categoryObservable) {
+        return overflowPolicy.toFlowable(requestItems(searchObservable, categoryObservable));
+    }
+
+    /**
+     * {@link #composition(Observable, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param intObservable1 {@link Observable} с произвольным количеством рандомных чисел
+     * @param intObservable2 {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #composition(Observable, Observable)}
+     */
+    public Flowable<Integer> composition(OverflowPolicy overflowPolicy,
+                                         Observable<Integer> intObservable1,
+                                         Observable<Integer> intObservable2) {
+        return overflowPolicy.toFlowable(composition(intObservable1, intObservable2));
+    }
+
+    /**
+     * {@link #additionalFirstItem(int, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param firstItem      Первый элемент, который необходимо добавить
+     * @param intObservable  {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #additionalFirstItem(int, Observable)}
+     */
+    public Flowable<Integer> additionalFirstItem(OverflowPolicy overflowPolicy,
+                                                 int firstItem, Observable<Integer> intObservable) {
+        return overflowPolicy.toFlowable(additionalFirstItem(firstItem, intObservable));
+    }
+
     /* Вспомогательные методы */
 
     /**
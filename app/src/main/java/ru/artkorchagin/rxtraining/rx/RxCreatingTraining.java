@@ -1,8 +1,29 @@
 package ru.artkorchagin.rxtraining.rx;
 
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.parallel.ParallelFlowable;
+import io.reactivex.schedulers.Schedulers;
+import ru.artkorchagin.rxtraining.cache.RefreshableValue;
 import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
 import ru.artkorchagin.rxtraining.exceptions.NotImplementedException;
+import ru.artkorchagin.rxtraining.resilience.CircuitBreaker;
+import ru.artkorchagin.rxtraining.resilience.ExponentialBackoff;
+import ru.artkorchagin.rxtraining.resilience.ResiliencePolicy;
+import ru.artkorchagin.rxtraining.resilience.RetryBudget;
+import ru.artkorchagin.rxtraining.rx.operators.FlowableMappedRecords;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableMemoize;
+import ru.artkorchagin.rxtraining.rx.operators.OverflowPolicy;
+import ru.artkorchagin.rxtraining.rx.schedulers.HashedWheelScheduler;
 
 /**
  * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
@@ -112,6 +133,314 @@ public class RxCreatingTraining {
         throw new NotImplementedException();
     }
 
+    /* Производительные варианты */
+
+    /**
+     * Кэш результата {@link #expensiveMethod()} с фоновым обновлением на
+     * {@link Schedulers#computation()}
+     *
+     * @param ttlMills время в миллисекундах, после которого результат обновляется в фоне
+     * @return {@link RefreshableValue} для использования в
+     * {@link #expensiveMethodResult(RefreshableValue)}
+     */
+    public RefreshableValue<Integer> createExpensiveMethodCache(long ttlMills) {
+        return new RefreshableValue<>(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return expensiveMethod();
+            }
+        }, ttlMills, TimeUnit.MILLISECONDS, Schedulers.computation());
+    }
+
+    /**
+     * Результат метода с длительными вычислениями: {@link #expensiveMethod()} из кэша. Метод
+     * вызывается только при первой подписке, после инвалидации кэша или в фоне после устаревания
+     * результата
+     *
+     * @param expensiveMethodCache кэш, созданный {@link #createExpensiveMethodCache(long)}
+     * @return {@link Observable} - который эммитит результат выполнения метода
+     * {@link #expensiveMethod()}, возможно устаревший
+     * @see #expensiveMethodResult()
+     */
+    public Observable<Integer> expensiveMethodResult(RefreshableValue<Integer> expensiveMethodCache) {
+        return expensiveMethodCache.get().toObservable();
+    }
+
+    /**
+     * Параллельный вызов нескольких методов с длительными вычислениями с запоминанием результата.
+     * Методы выполняются одновременно на {@code computeScheduler}, а результаты эммитятся в том же
+     * порядке, что и в {@link #combinationExpensiveMethods(boolean)}.
+     * <p>
+     * Все подписчики возвращённого {@link Observable} разделяют одно выполнение, после
+     * успешного завершения результат запоминается. Если все подписчики отписались до
+     * завершения, ещё не начатые вычисления отменяются.
+     *
+     * @param computeScheduler  ограниченный пул для вычислений, например
+     *                          {@link io.reactivex.schedulers.Schedulers#computation()}
+     * @param unstableCondition - условие, которое необходимо передавать в {@code unstableMethod}
+     * @return {@link Observable} который эммитит результаты выполнения методов, в следующем
+     * порядке:
+     * 1. {@link #expensiveMethod()}
+     * 2. {@link #alternativeExpensiveMethod()}
+     * 3. {@link #unstableMethod(boolean)}
+     */
+    public Observable<Integer> combinationExpensiveMethods(Scheduler computeScheduler,
+                                                           final boolean unstableCondition) {
+        Observable<Integer> expensive = Observable.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return expensiveMethod();
+            }
+        });
+        Observable<Integer> alternative = Observable.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return alternativeExpensiveMethod();
+            }
+        });
+        Observable<Integer> unstable = Observable.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return unstableMethod(unstableCondition);
+            }
+        });
+        return new ObservableMemoize<>(Observable.concatEager(Arrays.asList(
+                expensive.subscribeOn(computeScheduler),
+                alternative.subscribeOn(computeScheduler),
+                unstable.subscribeOn(computeScheduler))));
+    }
+
+    /**
+     * Возрастающая последовательность на планировщике таймеров, например
+     * {@link HashedWheelScheduler}. Интервалы отсчитываются от первого значения, поэтому время
+     * обработки значений не накапливается в дрейф
+     *
+     * @param timerScheduler планировщик таймеров, общий для всех последовательностей
+     * @return {@link Observable} - который эммитит возрастающую последовательность значений,
+     * начиная с 0L, как в {@link #increasingSequenceWithDelays(long, long)}
+     */
+    public Observable<Long> increasingSequenceWithDelays(Scheduler timerScheduler,
+                                                         long initialDelay, long period) {
+        return Observable.interval(initialDelay, period, TimeUnit.MILLISECONDS, timerScheduler);
+    }
+
+    /**
+     * Возращение значения 0L с заданной задержкой на планировщике таймеров, например
+     * {@link HashedWheelScheduler}
+     *
+     * @param timerScheduler планировщик таймеров, общий для всех последовательностей
+     * @param delay          - Задержка
+     * @return Observable который эммитит только одно значение 0L с указанной
+     * задержкой {@code delay}
+     */
+    public Observable<Long> delayedZero(Scheduler timerScheduler, long delay) {
+        return Observable.timer(delay, TimeUnit.MILLISECONDS, timerScheduler);
+    }
+
+    /**
+     * Политика устойчивости к сбоям для вызовов {@link #unstableMethod(boolean)}: повторы с
+     * экспоненциальной задержкой на {@link Schedulers#computation()}, общий бюджет повторов
+     * (20% от вызовов, не больше 10 накопленных) и предохранитель, размыкающийся на 30 секунд
+     * при половине ошибок из последних 20 вызовов
+     *
+     * @param maxRetries     максимальное количество повторов одного вызова
+     * @param baseDelayMills задержка перед первым повтором в миллисекундах, далее удваивается
+     * @param maxDelayMills  максимальная задержка перед повтором в миллисекундах
+     * @return {@link ResiliencePolicy}, общая для всех вызовов
+     */
+    public ResiliencePolicy createResiliencePolicy(int maxRetries, long baseDelayMills,
+                                                   long maxDelayMills) {
+        return new ResiliencePolicy(maxRetries,
+                new ExponentialBackoff(baseDelayMills, maxDelayMills, TimeUnit.MILLISECONDS),
+                new RetryBudget(0.2, 10),
+                new CircuitBreaker(0.5, 20, 10, 30, TimeUnit.SECONDS, Schedulers.computation()),
+                Schedulers.computation());
+    }
+
+    /**
+     * Последовательный вызов нескольких методов с длительными вычислениями, где ошибка
+     * {@link #unstableMethod(boolean)} повторяется по политике {@code resiliencePolicy}, а не
+     * завершает всю цепочку сразу
+     *
+     * @param resiliencePolicy  политика, созданная {@link #createResiliencePolicy(int, long, long)}
+     * @param unstableCondition - условие, которое необходимо передавать в {@code unstableMethod}
+     * @return {@link Observable} который последовательно эммитит результаты выполнения методов,
+     * как {@link #combinationExpensiveMethods(boolean)}
+     */
+    public Observable<Integer> combinationExpensiveMethods(ResiliencePolicy resiliencePolicy,
+                                                           final boolean unstableCondition) {
+        Observable<Integer> expensive = Observable.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return expensiveMethod();
+            }
+        });
+        Observable<Integer> alternative = Observable.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return alternativeExpensiveMethod();
+            }
+        });
+        Observable<Integer> unstable = Observable.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return unstableMethod(unstableCondition);
+            }
+        });
+        return Observable.concat(expensive, alternative,
+                unstable.compose(resiliencePolicy.<Integer>observable()));
+    }
+
+    /**
+     * {@link #valueToObservable(int)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param value          Произвольное значение
+     * @return {@link Flowable} с элементами {@link #valueToObservable(int)}
+     */
+    public Flowable<Integer> valueToObservable(OverflowPolicy overflowPolicy, int value) {
+        return overflowPolicy.toFlowable(valueToObservable(value));
+    }
+
+    /**
+     * {@link #arrayToObservable(String[])} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param array          Массив строк
+     * @return {@link Flowable} с элементами {@link #arrayToObservable(String[])}
+     */
+    public Flowable<String> arrayToObservable(OverflowPolicy overflowPolicy, String[] array) {
+        return overflowPolicy.toFlowable(arrayToObservable(array));
+    }
+
+    /**
+     * {@link #expensiveMethodResult()} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @return {@link Flowable} с элементами {@link #expensiveMethodResult()}
+     */
+    public Flowable<Integer> expensiveMethodResult(OverflowPolicy overflowPolicy) {
+        return overflowPolicy.toFlowable(expensiveMethodResult());
+    }
+
+    /**
+     * {@link #increasingSequenceWithDelays(long, long)} для медленного получателя: элементы, на
+     * которые у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param initialDelay   Начальная задержка в миллисекундах
+     * @param period         Период в миллисекундах
+     * @return {@link Flowable} с элементами {@link #increasingSequenceWithDelays(long, long)}
+     */
+    public Flowable<Long> increasingSequenceWithDelays(OverflowPolicy overflowPolicy,
+                                                       long initialDelay, long period) {
+        return overflowPolicy.toFlowable(increasingSequenceWithDelays(initialDelay, period));
+    }
+
+    /**
+     * {@link #delayedZero(long)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param delay          Задержка в миллисекундах
+     * @return {@link Flowable} с элементами {@link #delayedZero(long)}
+     */
+    public Flowable<Long> delayedZero(OverflowPolicy overflowPolicy, long delay) {
+        return overflowPolicy.toFlowable(delayedZero(delay));
+    }
+
+    /**
+     * {@link #combinationExpensiveMethods(boolean)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy    стратегия переполнения, размер очереди и метрики
+     * @param unstableCondition Условие, передаваемое в {@link #unstableMethod(boolean)}
+     * @return {@link Flowable} с элементами {@link #combinationExpensiveMethods(boolean)}
+     */
+    public Flowable<Integer> combinationExpensiveMethods(OverflowPolicy overflowPolicy,
+                                                         boolean unstableCondition) {
+        return overflowPolicy.toFlowable(combinationExpensiveMethods(unstableCondition));
+    }
+
+    /**
+     * {@link #withoutAnyEvents()} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @return {@link Flowable} с элементами {@link #withoutAnyEvents()}
+     */
+    public Flowable<Integer> withoutAnyEvents(OverflowPolicy overflowPolicy) {
+        return overflowPolicy.toFlowable(withoutAnyEvents());
+    }
+
+    /**
+     * {@link #onlyComplete()} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @return {@link Flowable} с элементами {@link #onlyComplete()}
+     */
+    public Flowable<Integer> onlyComplete(OverflowPolicy overflowPolicy) {
+        return overflowPolicy.toFlowable(onlyComplete());
+    }
+
+    /**
+     * {@link #onlyError()} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @return {@link Flowable} с элементами {@link #onlyError()}
+     */
+    public Flowable<Integer> onlyError(OverflowPolicy overflowPolicy) {
+        return overflowPolicy.toFlowable(onlyError());
+    }
+
+    /**
+     * Эммит записей файла без загрузки файла в массив: файл отображается в память окнами по
+     * {@code windowSize} байт, а каждая запись - срез отображения без копирования
+     *
+     * @param windowSize  размер окна отображения в байтах, ограничивает длину записи
+     * @param recordsFile файл с записями
+     * @param delimiter   байт-разделитель записей, например {@code '\n'}
+     * @return {@link Flowable}, который эммитит записи в потоке получателя по его запросу.
+     * Буферы записей только для чтения, разделитель в них не входит
+     * @see #arrayToObservable(String[])
+     */
+    public Flowable<ByteBuffer> fileToFlowable(int windowSize, File recordsFile, byte delimiter) {
+        return new FlowableMappedRecords(recordsFile, delimiter, windowSize);
+    }
+
+    /**
+     * Эммит большого массива диапазонами, которые обрабатываются параллельно на
+     * {@link Schedulers#computation()}. Диапазоны - представления массива без копирования
+     *
+     * @param rangeSize размер диапазона
+     * @param array     Массив произвольных строк, не изменяется до окончания обработки
+     * @return {@link ParallelFlowable} с параллельным потоком на каждое ядро, в каждом потоке
+     * диапазоны идут по порядку. Все диапазоны, кроме последнего, длиной {@code rangeSize}
+     * @see #arrayToObservable(String[])
+     */
+    public ParallelFlowable<List<String>> arrayToParallelRanges(final int rangeSize, String[] array) {
+        if (rangeSize <= 0) {
+            throw new IllegalArgumentException("rangeSize > 0 required but it was " + rangeSize);
+        }
+        final List<String> values = Arrays.asList(array);
+        int rangeCount = (int) ((array.length + (long) rangeSize - 1) / rangeSize);
+        return Flowable.range(0, rangeCount)
+                .parallel()
+                .runOn(Schedulers.computation())
+                .map(new Function<Integer, List<String>>() {
+                    @Override
+                    public List<String> apply(Integer rangeIndex) {
+                        int from = rangeIndex * rangeSize;
+                        return values.subList(from, Math.min(from + rangeSize, values.size()));
+                    }
+                });
+    }
+
     /* Вспомогательные методы */
 
     /**
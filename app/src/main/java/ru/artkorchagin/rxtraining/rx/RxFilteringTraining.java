@@ -1,7 +1,30 @@
 package ru.artkorchagin.rxtraining.rx;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.functions.Predicate;
+import io.reactivex.schedulers.Schedulers;
+import ru.artkorchagin.rxtraining.buffer.HeapIntRing;
+import ru.artkorchagin.rxtraining.buffer.IntRing;
+import ru.artkorchagin.rxtraining.buffer.MappedIntRing;
+import ru.artkorchagin.rxtraining.distinct.IntDistinctFilter;
 import ru.artkorchagin.rxtraining.exceptions.NotImplementedException;
+import ru.artkorchagin.rxtraining.rx.operators.IntFilterChain;
+import ru.artkorchagin.rxtraining.rx.operators.IntPredicate;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableIntChangedChunks;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableIntSample;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableIntTakeLast;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableWheelTimeout;
+import ru.artkorchagin.rxtraining.rx.operators.OverflowPolicy;
+import ru.artkorchagin.rxtraining.rx.schedulers.SharedTicker;
+import ru.artkorchagin.rxtraining.rx.schedulers.TimeoutWheel;
 
 /**
  * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
@@ -103,4 +126,291 @@ public class RxFilteringTraining {
         throw new NotImplementedException();
     }
 
+    /* Производительные варианты */
+
+    /**
+     * Значения без повторений с ограниченным расходом памяти
+     *
+     * @param distinctFilterFactory создание хранилища встреченных значений, определяющего
+     *                              точность и расход памяти:
+     *                              {@link ru.artkorchagin.rxtraining.distinct.BoundedIntHashSet},
+     *                              {@link ru.artkorchagin.rxtraining.distinct.ExpiringIntSet} или
+     *                              {@link ru.artkorchagin.rxtraining.distinct.IntBloomFilter}.
+     *                              Вызывается на каждую подписку, в том числе при
+     *                              {@code retry} и {@code repeat}
+     * @param intValues             {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Observable} который эммитит значения {@code intValues}, которые хранилище
+     * подписки считает новыми
+     * @see #ignoreDuplicates(Observable)
+     */
+    public Observable<Integer> ignoreDuplicates(
+            final Callable<? extends IntDistinctFilter> distinctFilterFactory,
+            final Observable<Integer> intValues) {
+        return Observable.defer(new Callable<ObservableSource<Integer>>() {
+            @Override
+            public ObservableSource<Integer> call() throws Exception {
+                final IntDistinctFilter distinctFilter = distinctFilterFactory.call();
+                return intValues.filter(new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return distinctFilter.add(value);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Общий тик для {@link #onlyLastPerInterval(SharedTicker, Observable)} на
+     * {@link Schedulers#computation()}
+     *
+     * @param periodMills Период в миллисекундах, за который необходимо произвести выборку
+     *                    последнего элемента
+     * @return {@link SharedTicker}, который можно использовать для любого количества выборок
+     */
+    public SharedTicker createSampleTicker(int periodMills) {
+        return new SharedTicker(periodMills, TimeUnit.MILLISECONDS, Schedulers.computation());
+    }
+
+    /**
+     * Только последний элемент из всех элементов во временном периоде, без выделения памяти на
+     * каждый элемент. Все выборки с одним {@code ticker} обслуживаются одной периодической
+     * задачей
+     *
+     * @param ticker    общий тик, созданный {@link #createSampleTicker(int)}
+     * @param intValues {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Observable} который эммитит максимум 1 значения за период тика
+     * @see #onlyLastPerInterval(int, Observable)
+     */
+    public Observable<Integer> onlyLastPerInterval(SharedTicker ticker, Observable<Integer> intValues) {
+        return new ObservableIntSample(intValues, ticker);
+    }
+
+    /**
+     * Общее колесо таймаутов для {@link #errorIfLongWait(TimeoutWheel, int, Observable)} на
+     * {@link Schedulers#computation()}
+     *
+     * @param precisionMills точность таймаутов в миллисекундах
+     * @return {@link TimeoutWheel}, который можно использовать для любого количества потоков
+     */
+    public TimeoutWheel createTimeoutWheel(int precisionMills) {
+        return new TimeoutWheel(precisionMills, TimeUnit.MILLISECONDS, 512, Schedulers.computation());
+    }
+
+    /**
+     * Ошибка при длительном ожидании элементов на общем колесе таймаутов. На каждый элемент
+     * приходится одна volatile запись вместо постановки и отмены задачи таймера
+     *
+     * @param timeoutWheel колесо, созданное {@link #createTimeoutWheel(int)}
+     * @param timeMills    Время ожидания в миллисекундах
+     * @param intValues    {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Observable} который эммитит значения {@code intValues}, или выдаёт ошибку,
+     * если время ожидания превышает {@code timeMills} (с точностью колеса)
+     * @see #errorIfLongWait(int, Observable)
+     */
+    public Observable<Integer> errorIfLongWait(TimeoutWheel timeoutWheel, int timeMills,
+                                               Observable<Integer> intValues) {
+        return new ObservableWheelTimeout<>(intValues, timeoutWheel, timeMills, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Эммит только последних значений с хранением в кольцевом массиве {@code int[]} ровно из
+     * {@code count} ячеек
+     *
+     * @param count     Количество последних элементов, которые нужно эммитить
+     * @param intValues {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Observable} который эммитит последние значения
+     * @see #onlyLastValues(int, Observable)
+     */
+    public Observable<Integer> onlyLastValuesPrimitive(int count, Observable<Integer> intValues) {
+        return onlyLastValues(count, count, null, intValues);
+    }
+
+    /**
+     * Эммит только последних значений с вытеснением большого буфера в отображённый в память
+     * файл
+     *
+     * @param count          Количество последних элементов, которые нужно эммитить
+     * @param maxHeapCount   максимальное количество элементов, хранимых в куче, при большем
+     *                       {@code count} буфер размещается в файле
+     * @param spillDirectory каталог для временных файлов, {@code null} - системный каталог
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Observable} который эммитит последние значения
+     * @see #onlyLastValues(int, Observable)
+     */
+    public Observable<Integer> onlyLastValues(final int count, final int maxHeapCount,
+                                              final File spillDirectory,
+                                              Observable<Integer> intValues) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (count == 0) {
+            return intValues.ignoreElements().toObservable();
+        }
+        return new ObservableIntTakeLast(intValues, new Callable<IntRing>() {
+            @Override
+            public IntRing call() throws IOException {
+                return count > maxHeapCount
+                        ? new MappedIntRing(count, spillDirectory)
+                        : new HeapIntRing(count);
+            }
+        });
+    }
+
+    /**
+     * Цепочка фильтров, выполняемая одним подписчиком: эквивалент последовательного вызова
+     * {@link #onlyPositiveNumbers(Observable)}, {@link #ignoreFirstValues(int, Observable)},
+     * {@link #onlyFirstValues(int, Observable)} и {@link #onlyChangedValues(Observable)}
+     *
+     * @param ignoreCount Количество первых положительных элементов, которые нужно пропустить
+     * @param takeCount   Количество элементов, которые нужно эммитить после пропуска
+     * @return {@link IntFilterChain} для {@link #applyFilterChain(IntFilterChain, Observable)}
+     */
+    public IntFilterChain createFilterChain(int ignoreCount, int takeCount) {
+        return IntFilterChain.create()
+                .filter(new IntPredicate() {
+                    @Override
+                    public boolean test(int value) {
+                        return value > 0;
+                    }
+                })
+                .skip(ignoreCount)
+                .take(takeCount)
+                .distinctUntilChanged();
+    }
+
+    /**
+     * Применение цепочки фильтров одним подписчиком
+     *
+     * @param chain     цепочка, например созданная {@link #createFilterChain(int, int)}
+     * @param intValues {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Observable} который эммитит значения {@code intValues}, прошедшие цепочку
+     */
+    public Observable<Integer> applyFilterChain(IntFilterChain chain, Observable<Integer> intValues) {
+        return intValues.compose(chain);
+    }
+
+    /**
+     * Пропуск повторяющихся значений в блоках чисел. Сравнение выполняется одним циклом по
+     * блоку, а значения, прошедшие фильтр, записываются в один переиспользуемый буфер
+     *
+     * @param intChunks {@link Observable} с блоками рандомных чисел, блоки не изменяются
+     * @return {@link Observable} который эммитит буфер с числами блока, отличающимися от
+     * предыдущего числа (в том числе из прошлого блока). Буфер действителен только до
+     * следующего значения
+     * @see #onlyChangedValues(Observable)
+     */
+    public Observable<IntBuffer> onlyChangedValuesBatched(Observable<int[]> intChunks) {
+        return new ObservableIntChangedChunks(intChunks);
+    }
+
+    /**
+     * {@link #onlyPositiveNumbers(Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #onlyPositiveNumbers(Observable)}
+     */
+    public Flowable<Integer> onlyPositiveNumbers(OverflowPolicy overflowPolicy,
+                                                 Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(onlyPositiveNumbers(intValues));
+    }
+
+    /**
+     * {@link #onlyLastValues(int, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param count          Количество последних элементов
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #onlyLastValues(int, Observable)}
+     */
+    public Flowable<Integer> onlyLastValues(OverflowPolicy overflowPolicy,
+                                            int count, Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(onlyLastValues(count, intValues));
+    }
+
+    /**
+     * {@link #onlyFirstValues(int, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param count          Количество первых элементов
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #onlyFirstValues(int, Observable)}
+     */
+    public Flowable<Integer> onlyFirstValues(OverflowPolicy overflowPolicy,
+                                             int count, Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(onlyFirstValues(count, intValues));
+    }
+
+    /**
+     * {@link #ignoreFirstValues(int, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param count          Количество пропускаемых элементов
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #ignoreFirstValues(int, Observable)}
+     */
+    public Flowable<Integer> ignoreFirstValues(OverflowPolicy overflowPolicy,
+                                               int count, Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(ignoreFirstValues(count, intValues));
+    }
+
+    /**
+     * {@link #onlyLastPerInterval(int, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param periodMills    Период в миллисекундах
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #onlyLastPerInterval(int, Observable)}
+     */
+    public Flowable<Integer> onlyLastPerInterval(OverflowPolicy overflowPolicy,
+                                                 int periodMills, Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(onlyLastPerInterval(periodMills, intValues));
+    }
+
+    /**
+     * {@link #errorIfLongWait(int, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param timeMills      Допустимая пауза между элементами в миллисекундах
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #errorIfLongWait(int, Observable)}
+     */
+    public Flowable<Integer> errorIfLongWait(OverflowPolicy overflowPolicy,
+                                             int timeMills, Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(errorIfLongWait(timeMills, intValues));
+    }
+
+    /**
+     * {@link #ignoreDuplicates(Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #ignoreDuplicates(Observable)}
+     */
+    public Flowable<Integer> ignoreDuplicates(OverflowPolicy overflowPolicy,
+                                              Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(ignoreDuplicates(intValues));
+    }
+
+    /**
+     * {@link #onlyChangedValues(Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param intValues      {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #onlyChangedValues(Observable)}
+     */
+    public Flowable<Integer> onlyChangedValues(OverflowPolicy overflowPolicy,
+                                               Observable<Integer> intValues) {
+        return overflowPolicy.toFlowable(onlyChangedValues(intValues));
+    }
+
 }
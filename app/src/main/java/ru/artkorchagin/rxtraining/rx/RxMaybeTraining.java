@@ -4,6 +4,7 @@ import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import ru.artkorchagin.rxtraining.exceptions.NotImplementedException;
+import ru.artkorchagin.rxtraining.rx.operators.IntAggregates;
 
 /**
  * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
@@ -57,4 +58,18 @@ public class RxMaybeTraining {
         throw new NotImplementedException();
     }
 
+    /* Производительные варианты */
+
+    /**
+     * Сумма всех элементов последовательности без упаковки промежуточных сумм
+     *
+     * @param integerObservable {@link Observable} произвольная последовательность чисел
+     * @return {@link Maybe} который эммитит сумму всех элементов, либо не эммитит ничего если
+     * последовательность пустая
+     * @see #calculateSumOfValues(Observable)
+     */
+    Maybe<Integer> calculateSumOfValuesPrimitive(Observable<Integer> integerObservable) {
+        return IntAggregates.sumOrEmpty(integerObservable);
+    }
+
 }
@@ -7,6 +7,8 @@ import io.reactivex.Observable;
 import io.reactivex.Single;
 import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
 import ru.artkorchagin.rxtraining.exceptions.NotImplementedException;
+import ru.artkorchagin.rxtraining.rx.operators.IntAggregates;
+import ru.artkorchagin.rxtraining.rx.operators.IntPredicate;
 
 /**
  * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
@@ -72,4 +74,35 @@ public class RxSingleTraining {
         throw new NotImplementedException();
     }
 
+    /* Производительные варианты */
+
+    /**
+     * Сумма всех элементов последовательности без упаковки промежуточных сумм
+     *
+     * @param integerObservable {@link Observable} произвольная последовательность чисел
+     * @return {@link Single} который эммитит сумму всех элементов, либо 0 если последовательность
+     * пустая
+     * @see #calculateSumOfValues(Observable)
+     */
+    Single<Integer> calculateSumOfValuesPrimitive(Observable<Integer> integerObservable) {
+        return IntAggregates.sum(integerObservable);
+    }
+
+    /**
+     * Проверка всех элементов на положительность без упаковки промежуточного результата
+     *
+     * @param integerSingle {@link Observable} произвольная последовательность чисел
+     * @return {@link Single} который эммитит {@code true} если все элементы последовательности
+     * {@code integerSingle} положительны, {@code false} если есть отрицательные элементы
+     * @see #allElementsIsPositive(Observable)
+     */
+    Single<Boolean> allElementsIsPositivePrimitive(Observable<Integer> integerSingle) {
+        return IntAggregates.all(integerSingle, new IntPredicate() {
+            @Override
+            public boolean test(int value) {
+                return value > 0;
+            }
+        });
+    }
+
 }
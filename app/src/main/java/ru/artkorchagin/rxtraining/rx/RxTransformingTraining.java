@@ -1,11 +1,40 @@
 package ru.artkorchagin.rxtraining.rx;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Predicate;
 import io.reactivex.observables.GroupedObservable;
+import io.reactivex.schedulers.Schedulers;
+import ru.artkorchagin.rxtraining.buffer.ByteChunk;
+import ru.artkorchagin.rxtraining.buffer.ByteChunkPool;
+import ru.artkorchagin.rxtraining.buffer.IntChunk;
+import ru.artkorchagin.rxtraining.buffer.IntChunkPool;
+import ru.artkorchagin.rxtraining.buffer.IntDecimal;
+import ru.artkorchagin.rxtraining.buffer.IntStringCache;
+import ru.artkorchagin.rxtraining.cache.CoalescingCache;
 import ru.artkorchagin.rxtraining.entity.Entity;
 import ru.artkorchagin.rxtraining.exceptions.NotImplementedException;
+import ru.artkorchagin.rxtraining.metrics.HeadOfLineMetrics;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableIntChunks;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableIntDecimalChunks;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableOrderedFlatMap;
+import ru.artkorchagin.rxtraining.rx.operators.ObservableRailGroupBy;
+import ru.artkorchagin.rxtraining.rx.operators.OverflowPolicy;
+import ru.artkorchagin.rxtraining.rx.operators.ParallelBatchMap;
+import ru.artkorchagin.rxtraining.rx.schedulers.BoundedBlockingScheduler;
+import ru.artkorchagin.rxtraining.rx.schedulers.RailSchedulers;
 
 /**
  * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
@@ -63,6 +92,327 @@ public class RxTransformingTraining {
         throw new NotImplementedException();
     }
 
+    /* Производительные варианты */
+
+    /**
+     * Пакетное преобразование идентификаторов в сущности. Идентификаторы собираются в пакеты
+     * размером не более {@code batchSize} или за время не более {@code batchTimeMills}, каждый
+     * пакет запрашивается одним вызовом {@link #requestApiEntities(Collection)}
+     *
+     * @param batchSize      максимальный размер пакета
+     * @param batchTimeMills максимальное время накопления пакета в миллисекундах
+     * @param maxConcurrency максимальное количество одновременно выполняемых пакетных запросов
+     * @param idObservable   идентификаторы сущностей
+     * @return {@link Observable<Entity>} эммитит сущности в том же порядке, в котором пришли
+     * идентификаторы из {@code idObservable}
+     */
+    public Observable<Entity> requestEntityByIdBatched(int batchSize, long batchTimeMills,
+                                                       int maxConcurrency,
+                                                       Observable<Integer> idObservable) {
+        return requestEntityByIdBatched(Schedulers.computation(), batchSize, batchTimeMills,
+                maxConcurrency, idObservable);
+    }
+
+    /**
+     * Пакетное преобразование идентификаторов в сущности, где время накопления пакета
+     * отсчитывается на {@code batchScheduler}
+     *
+     * @param batchScheduler {@link Scheduler} для отсчёта {@code batchTimeMills}
+     * @param batchSize      максимальный размер пакета
+     * @param batchTimeMills максимальное время накопления пакета в миллисекундах
+     * @param maxConcurrency максимальное количество одновременно выполняемых пакетных запросов
+     * @param idObservable   идентификаторы сущностей
+     * @return {@link Observable<Entity>} эммитит сущности в том же порядке, в котором пришли
+     * идентификаторы из {@code idObservable}
+     * @see #requestEntityByIdBatched(int, long, int, Observable)
+     */
+    public Observable<Entity> requestEntityByIdBatched(Scheduler batchScheduler, int batchSize,
+                                                       long batchTimeMills, int maxConcurrency,
+                                                       Observable<Integer> idObservable) {
+        return idObservable
+                .buffer(batchTimeMills, TimeUnit.MILLISECONDS, batchScheduler, batchSize)
+                .filter(new Predicate<List<Integer>>() {
+                    @Override
+                    public boolean test(List<Integer> ids) {
+                        return !ids.isEmpty();
+                    }
+                })
+                .concatMapEager(new Function<List<Integer>, ObservableSource<Entity>>() {
+                    @Override
+                    public ObservableSource<Entity> apply(final List<Integer> ids) {
+                        return requestApiEntities(new LinkedHashSet<>(ids))
+                                .flatMapIterable(new Function<List<Entity>, Iterable<Entity>>() {
+                                    @Override
+                                    public Iterable<Entity> apply(List<Entity> entities) {
+                                        return orderByIds(ids, entities);
+                                    }
+                                });
+                    }
+                }, maxConcurrency, 1);
+    }
+
+    /**
+     * Кэш сущностей по идентификатору поверх {@link #requestApiEntity(int)}
+     *
+     * @param maxSize  максимальное количество сущностей в кэше
+     * @param ttlMills время жизни сущности в кэше в миллисекундах
+     * @return {@link CoalescingCache} для использования в
+     * {@link #requestEntityByIdCached(CoalescingCache, Observable)}
+     */
+    public CoalescingCache<Integer, Entity> createEntityCache(int maxSize, long ttlMills) {
+        return new CoalescingCache<>(maxSize, ttlMills, TimeUnit.MILLISECONDS,
+                Schedulers.computation(), new Function<Integer, Observable<Entity>>() {
+            @Override
+            public Observable<Entity> apply(Integer id) {
+                return requestApiEntity(id);
+            }
+        });
+    }
+
+    /**
+     * Преобразование идентификаторов в сущности через кэш. Повторяющиеся идентификаторы
+     * запрашиваются только один раз, пока сущность не устарела
+     *
+     * @param entityCache  кэш, созданный {@link #createEntityCache(int, long)}
+     * @param idObservable идентификаторы сущностей
+     * @return {@link Observable<Entity>} эммитит сущности в порядке идентификаторов из
+     * {@code idObservable}
+     */
+    public Observable<Entity> requestEntityByIdCached(final CoalescingCache<Integer, Entity> entityCache,
+                                                      Observable<Integer> idObservable) {
+        return idObservable.concatMapEager(new Function<Integer, ObservableSource<Entity>>() {
+            @Override
+            public ObservableSource<Entity> apply(Integer id) {
+                return entityCache.get(id);
+            }
+        });
+    }
+
+    /**
+     * Преобразование идентификаторов в сущности с параллельными запросами
+     * {@link #requestApiEntity(int)} и сохранением порядка. Сущность эммитится, как только
+     * получены все предыдущие
+     *
+     * @param maxConcurrency максимальное количество одновременных запросов
+     * @param bufferSize     максимальное количество сущностей, ожидающих предыдущие, на один
+     *                       запрос
+     * @param metrics        метрики ожидания предыдущих запросов, может быть {@code null}
+     * @param idObservable   идентификаторы сущностей
+     * @return {@link Observable<Entity>} эммитит сущности в порядке идентификаторов из
+     * {@code idObservable}
+     * @see #requestEntityById(Observable)
+     */
+    public Observable<Entity> requestEntityByIdOrdered(int maxConcurrency, int bufferSize,
+                                                       HeadOfLineMetrics metrics,
+                                                       Observable<Integer> idObservable) {
+        return new ObservableOrderedFlatMap<>(idObservable,
+                new Function<Integer, ObservableSource<Entity>>() {
+                    @Override
+                    public ObservableSource<Entity> apply(Integer id) {
+                        return requestApiEntity(id);
+                    }
+                }, maxConcurrency, bufferSize, metrics);
+    }
+
+    /**
+     * Преобразование идентификаторов в сущности, где каждый блокирующий вызов
+     * {@link #requestApiEntity(int)} выполняется на {@code blockingScheduler}
+     *
+     * @param blockingScheduler {@link Scheduler} для запросов, например
+     *                          {@link BoundedBlockingScheduler} вместо {@link Schedulers#io()},
+     *                          чтобы всплеск запросов не создавал поток на каждый запрос
+     * @param maxConcurrency    максимальное количество одновременных запросов
+     * @param idObservable      идентификаторы сущностей
+     * @return {@link Observable<Entity>} эммитит сущности в порядке получения ответов
+     * @see #requestEntityByIdOrdered(int, int, HeadOfLineMetrics, Observable)
+     */
+    public Observable<Entity> requestEntityById(final Scheduler blockingScheduler,
+                                                int maxConcurrency,
+                                                Observable<Integer> idObservable) {
+        return idObservable.flatMap(new Function<Integer, ObservableSource<Entity>>() {
+            @Override
+            public ObservableSource<Entity> apply(Integer id) {
+                return requestApiEntity(id).subscribeOn(blockingScheduler);
+            }
+        }, maxConcurrency);
+    }
+
+    /**
+     * Распределение имён из {@code namesObservable} по первой букве имени с параллельной
+     * обработкой групп. Каждая группа доставляет имена на рельсе из {@code rails}, закреплённом
+     * за её буквой, порядок имён внутри группы сохраняется
+     *
+     * @param rails           рельсы для обработки групп
+     * @param idleMills       время в миллисекундах, после которого группа без новых имён
+     *                        завершается
+     * @param namesObservable - {@link Observable<String>} с именами
+     * @return {@link Observable} который эммитит {@link GroupedObservable} - сгруппированный
+     * поток имён объединённых первой буквой в имени. Если имя с буквой завершённой группы придёт
+     * снова, будет эммичена новая группа
+     * @see #distributeNamesByFirstLetter(Observable)
+     */
+    public Observable<GroupedObservable<Character, String>> distributeNamesByFirstLetter(RailSchedulers rails,
+                                                                                        long idleMills,
+                                                                                        Observable<String> namesObservable) {
+        return distributeNamesByFirstLetter(Schedulers.computation(), rails, idleMills, namesObservable);
+    }
+
+    /**
+     * Распределение имён по первой букве на рельсах, где простой групп отсчитывается по
+     * времени {@code clock}
+     *
+     * @param clock           {@link Scheduler} для отсчёта {@code idleMills}
+     * @param rails           рельсы для обработки групп
+     * @param idleMills       время в миллисекундах, после которого группа без новых имён
+     *                        завершается
+     * @param namesObservable - {@link Observable<String>} с именами
+     * @return {@link Observable} который эммитит {@link GroupedObservable} - сгруппированный
+     * поток имён объединённых первой буквой в имени
+     * @see #distributeNamesByFirstLetter(RailSchedulers, long, Observable)
+     */
+    public Observable<GroupedObservable<Character, String>> distributeNamesByFirstLetter(Scheduler clock,
+                                                                                        RailSchedulers rails,
+                                                                                        long idleMills,
+                                                                                        Observable<String> namesObservable) {
+        return new ObservableRailGroupBy<>(namesObservable, new Function<String, Character>() {
+            @Override
+            public Character apply(String name) {
+                return name.charAt(0);
+            }
+        }, rails, idleMills, clock);
+    }
+
+    /**
+     * Объединить элементы, полученные из {@code intObservable} в блоки {@link IntChunk} из пула
+     * {@code chunkPool} без упаковки каждого элемента в список
+     *
+     * @param chunkPool     пул блоков, размер блока задаёт максимальный размер группы
+     * @param intObservable {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@code Observable} который эммитит блоки чисел из {@code intObservable}. Каждый
+     * полученный блок необходимо вернуть в пул через {@link IntChunk#release()}
+     * @see #collectsIntsToLists(int, Observable)
+     */
+    public Observable<IntChunk> collectsIntsToChunks(IntChunkPool chunkPool,
+                                                     Observable<Integer> intObservable) {
+        return new ObservableIntChunks(intObservable, chunkPool);
+    }
+
+    /**
+     * {@link #transformIntToString(Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param intObservable  {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #transformIntToString(Observable)}
+     */
+    public Flowable<String> transformIntToString(OverflowPolicy overflowPolicy,
+                                                 Observable<Integer> intObservable) {
+        return overflowPolicy.toFlowable(transformIntToString(intObservable));
+    }
+
+    /**
+     * {@link #requestEntityById(Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param idObservable   {@link Observable} с идентификаторами сущностей
+     * @return {@link Flowable} с элементами {@link #requestEntityById(Observable)}
+     */
+    public Flowable<Entity> requestEntityById(OverflowPolicy overflowPolicy,
+                                              Observable<Integer> idObservable) {
+        return overflowPolicy.toFlowable(requestEntityById(idObservable));
+    }
+
+    /**
+     * {@link #distributeNamesByFirstLetter(Observable)} для медленного получателя: элементы, на
+     * которые у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy  стратегия переполнения, размер очереди и метрики
+     * @param namesObservable {@link Observable} с произвольными именами
+     * @return {@link Flowable} с элементами {@link #distributeNamesByFirstLetter(Observable)}
+     */
+    public Flowable<GroupedObservable<Character, String>> distributeNamesByFirstLetter(OverflowPolicy overflowPolicy,
+                                                                                        Observable<String> namesObservable) {
+        return overflowPolicy.toFlowable(distributeNamesByFirstLetter(namesObservable));
+    }
+
+    /**
+     * {@link #collectsIntsToLists(int, Observable)} для медленного получателя: элементы, на которые
+     * у получателя нет запроса, обрабатываются по {@code overflowPolicy}
+     *
+     * @param overflowPolicy стратегия переполнения, размер очереди и метрики
+     * @param listsSize      Размер списков
+     * @param intObservable  {@link Observable} с произвольным количеством рандомных чисел
+     * @return {@link Flowable} с элементами {@link #collectsIntsToLists(int, Observable)}
+     */
+    public Flowable<List<Integer>> collectsIntsToLists(OverflowPolicy overflowPolicy,
+                                                       int listsSize,
+                                                       Observable<Integer> intObservable) {
+        return overflowPolicy.toFlowable(collectsIntsToLists(listsSize, intObservable));
+    }
+
+    /**
+     * Параллельное преобразование чисел в строки пакетами по {@code batchSize} на всех ядрах
+     *
+     * @param batchSize   количество чисел, преобразуемых одной задачей
+     * @param ordered     {@code true} - строки эммитятся в порядке чисел, {@code false} - по
+     *                    готовности пакетов
+     * @param scheduler   {@link Scheduler} для преобразования, например
+     *                    {@link Schedulers#computation()}
+     * @param intFlowable - источник
+     * @return {@link Flowable<String>} - который эммитит строки, преобразованные из чисел в
+     * {@code intFlowable}
+     * @see #transformIntToString(Observable)
+     * @see ParallelBatchMap
+     */
+    public Flowable<String> transformIntToString(int batchSize, boolean ordered, Scheduler scheduler,
+                                                 Flowable<Integer> intFlowable) {
+        // Два пакета на рельс: пока один преобразуется, следующий уже получен
+        return intFlowable.compose(new ParallelBatchMap<Integer, String>(
+                new Function<Integer, String>() {
+                    @Override
+                    public String apply(Integer value) {
+                        return String.valueOf(value);
+                    }
+                }, scheduler, Runtime.getRuntime().availableProcessors(), batchSize, 2, ordered));
+    }
+
+    /**
+     * Преобразование чисел в строки с кэшем строк для частых чисел: для чисел из диапазона
+     * {@code stringCache} строки не создаются
+     *
+     * @param stringCache   кэш строк для диапазона частых чисел
+     * @param intObservable - источник
+     * @return {@link Observable<String>} - который эммитит строки, преобразованные из чисел в
+     * {@code intObservable}
+     * @see #transformIntToString(Observable)
+     */
+    public Observable<String> transformIntToString(final IntStringCache stringCache,
+                                                   Observable<Integer> intObservable) {
+        return intObservable.map(new Function<Integer, String>() {
+            @Override
+            public String apply(Integer value) {
+                return stringCache.get(value);
+            }
+        });
+    }
+
+    /**
+     * Преобразование чисел в текст для записи в канал: числа в десятичном виде (ASCII) с
+     * разделителем записываются сразу в байтовые блоки из пула, без создания строк
+     *
+     * @param chunkPool     пул блоков, размер блока не меньше {@link IntDecimal#MAX_LENGTH} + 1
+     * @param delimiter     байт-разделитель после каждого числа, например {@code '\n'}
+     * @param intObservable - источник
+     * @return {@link Observable} который эммитит заполненные блоки. Получатель обязан вернуть
+     * каждый блок в пул через {@link ByteChunk#release()}
+     * @see #transformIntToString(Observable)
+     */
+    public Observable<ByteChunk> transformIntToText(ByteChunkPool chunkPool, byte delimiter,
+                                                    Observable<Integer> intObservable) {
+        return new ObservableIntDecimalChunks(intObservable, chunkPool, delimiter);
+    }
+
     /* Вспомогательные методы */
 
     /**
@@ -77,4 +427,42 @@ public class RxTransformingTraining {
         return Observable.just(new Entity(id));
     }
 
+    /**
+     * Выполнение одного HTTP запроса сразу за несколькими сущностями
+     * (Вспомогательный метод! Не изменять!)
+     *
+     * @param ids - Идентификаторы сущностей {@link Entity}
+     * @return {@link Observable} который эммитит список полученных сущностей. Порядок сущностей в
+     * списке не гарантируется
+     */
+    Observable<List<Entity>> requestApiEntities(Collection<Integer> ids) {
+        // Выполнение запроса и эммит сущностей
+        List<Entity> entities = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            entities.add(new Entity(id));
+        }
+        return Observable.just(entities);
+    }
+
+    /**
+     * Раскладывает ответ пакетного запроса в порядке запрошенных идентификаторов
+     *
+     * @throws NoSuchElementException если в ответе нет сущности для какого-либо идентификатора
+     */
+    private static List<Entity> orderByIds(List<Integer> ids, List<Entity> entities) {
+        Map<Integer, Entity> entitiesById = new HashMap<>(entities.size() * 2);
+        for (Entity entity : entities) {
+            entitiesById.put(entity.getId(), entity);
+        }
+        List<Entity> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Entity entity = entitiesById.get(id);
+            if (entity == null) {
+                throw new NoSuchElementException("No entity with id " + id);
+            }
+            ordered.add(entity);
+        }
+        return ordered;
+    }
+
 }
@@ -0,0 +1,259 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Поэлементная сумма двух последовательностей чисел: i-й элемент результата равен сумме i-х
+ * элементов источников.
+ * <p>
+ * Каждый источник складывает значения в собственный кольцевой буфер {@code int[]} фиксированного
+ * размера с одним писателем и одним читателем (SPSC) и запрашивает у источника не больше, чем
+ * помещается в буфер. Поэтому быстрый источник притормаживается через backpressure, а память
+ * не растёт, пока второй источник отстаёт. Пары складываются в примитивах, промежуточная пара
+ * не создаётся.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class FlowableIntZipSum extends Flowable<Integer> {
+
+    private final Publisher<Integer> mFirst;
+    private final Publisher<Integer> mSecond;
+    private final int mPrefetch;
+
+    /**
+     * @param prefetch размер буфера каждого источника, округляется вверх до степени двойки
+     */
+    public FlowableIntZipSum(Publisher<Integer> first, Publisher<Integer> second, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        mFirst = first;
+        mSecond = second;
+        mPrefetch = prefetch;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super Integer> subscriber) {
+        ZipCoordinator coordinator = new ZipCoordinator(subscriber, mPrefetch);
+        subscriber.onSubscribe(coordinator);
+        coordinator.subscribe(mFirst, mSecond);
+    }
+
+    static final class ZipCoordinator extends AtomicInteger implements Subscription {
+
+        private final Subscriber<? super Integer> mDownstream;
+        private final IntRingSubscriber mFirst;
+        private final IntRingSubscriber mSecond;
+        private final AtomicLong mRequested = new AtomicLong();
+        private final AtomicReference<Throwable> mError = new AtomicReference<>();
+        private volatile boolean mCancelled;
+        private long mEmitted;
+
+        ZipCoordinator(Subscriber<? super Integer> downstream, int prefetch) {
+            mDownstream = downstream;
+            mFirst = new IntRingSubscriber(this, prefetch);
+            mSecond = new IntRingSubscriber(this, prefetch);
+        }
+
+        void subscribe(Publisher<Integer> first, Publisher<Integer> second) {
+            first.subscribe(mFirst);
+            second.subscribe(mSecond);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            for (;;) {
+                long current = mRequested.get();
+                long next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+                if (mRequested.compareAndSet(current, next)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!mCancelled) {
+                mCancelled = true;
+                cancelSources();
+            }
+        }
+
+        void onError(Throwable e) {
+            if (mError.compareAndSet(null, e)) {
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        private void cancelSources() {
+            mFirst.cancel();
+            mSecond.cancel();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            IntRingSubscriber first = mFirst;
+            IntRingSubscriber second = mSecond;
+            for (;;) {
+                long requested = mRequested.get();
+                long emitted = mEmitted;
+                for (;;) {
+                    if (mCancelled) {
+                        return;
+                    }
+                    Throwable error = mError.get();
+                    if (error != null) {
+                        mCancelled = true;
+                        cancelSources();
+                        mDownstream.onError(error);
+                        return;
+                    }
+                    // done читается до проверки пустоты, чтобы не потерять последние значения
+                    boolean firstDone = first.mDone;
+                    boolean firstEmpty = first.isEmpty();
+                    boolean secondDone = second.mDone;
+                    boolean secondEmpty = second.isEmpty();
+                    if ((firstDone && firstEmpty) || (secondDone && secondEmpty)) {
+                        mCancelled = true;
+                        cancelSources();
+                        mDownstream.onComplete();
+                        return;
+                    }
+                    if (firstEmpty || secondEmpty || emitted == requested) {
+                        break;
+                    }
+                    int sum = first.poll() + second.poll();
+                    mDownstream.onNext(sum);
+                    emitted++;
+                }
+                mEmitted = emitted;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Подписчик одного источника с кольцевым буфером SPSC: пишет поток источника, читает
+     * цикл {@link ZipCoordinator#drain()}
+     */
+    static final class IntRingSubscriber implements FlowableSubscriber<Integer> {
+
+        private final ZipCoordinator mParent;
+        private final int[] mBuffer;
+        private final int mMask;
+        private final int mLimit;
+        private final AtomicLong mProducerIndex = new AtomicLong();
+        private final AtomicLong mConsumerIndex = new AtomicLong();
+        private final AtomicReference<Subscription> mUpstream = new AtomicReference<>();
+        private int mConsumed;
+        volatile boolean mDone;
+
+        IntRingSubscriber(ZipCoordinator parent, int prefetch) {
+            mParent = parent;
+            int capacity = Integer.highestOneBit(prefetch - 1) << 1;
+            mBuffer = new int[Math.max(capacity, 1)];
+            mMask = mBuffer.length - 1;
+            mLimit = mBuffer.length - (mBuffer.length >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (mUpstream.compareAndSet(null, s)) {
+                s.request(mBuffer.length);
+            } else {
+                s.cancel();
+                if (mUpstream.get() != CancelledSubscription.INSTANCE) {
+                    RxJavaPlugins.onError(new IllegalStateException("Subscription already set!"));
+                }
+            }
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            long producerIndex = mProducerIndex.get();
+            if (producerIndex - mConsumerIndex.get() >= mBuffer.length) {
+                cancel();
+                onError(new MissingBackpressureException("Queue is full?!"));
+                return;
+            }
+            mBuffer[(int) producerIndex & mMask] = value;
+            mProducerIndex.lazySet(producerIndex + 1);
+            mParent.drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            mDone = true;
+            mParent.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mDone = true;
+            mParent.drain();
+        }
+
+        boolean isEmpty() {
+            return mProducerIndex.get() == mConsumerIndex.get();
+        }
+
+        int poll() {
+            long consumerIndex = mConsumerIndex.get();
+            int value = mBuffer[(int) consumerIndex & mMask];
+            mConsumerIndex.lazySet(consumerIndex + 1);
+            if (++mConsumed == mLimit) {
+                mConsumed = 0;
+                mUpstream.get().request(mLimit);
+            }
+            return value;
+        }
+
+        void cancel() {
+            Subscription current = mUpstream.getAndSet(CancelledSubscription.INSTANCE);
+            if (current != null && current != CancelledSubscription.INSTANCE) {
+                current.cancel();
+            }
+        }
+    }
+
+    enum CancelledSubscription implements Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+}
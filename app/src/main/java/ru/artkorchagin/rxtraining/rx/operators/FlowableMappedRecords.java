@@ -0,0 +1,216 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Записи файла, разделённые байтом {@code delimiter}, без чтения файла в кучу. Файл
+ * отображается в память окнами по {@code windowSize} байт, каждая запись - срез окна без
+ * копирования. Окно сдвигается к началу незаконченной записи, поэтому размер файла не
+ * ограничен, а запись не может быть больше окна.
+ * <p>
+ * Записи эммитятся в потоке, запросившем их, не больше запрошенного количества. Срезы только
+ * для чтения и остаются действительными, пока на них есть ссылки, в том числе после
+ * завершения подписки. Разделитель в запись не входит, пустая запись в конце файла (после
+ * последнего разделителя) не эммитится.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class FlowableMappedRecords extends Flowable<ByteBuffer> {
+
+    private final File mFile;
+    private final byte mDelimiter;
+    private final int mWindowSize;
+
+    public FlowableMappedRecords(File file, byte delimiter, int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize > 0 required but it was " + windowSize);
+        }
+        mFile = file;
+        mDelimiter = delimiter;
+        mWindowSize = windowSize;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super ByteBuffer> subscriber) {
+        subscriber.onSubscribe(new MappedRecordsSubscription(subscriber, mFile, mDelimiter, mWindowSize));
+    }
+
+    static final class MappedRecordsSubscription extends AtomicLong implements Subscription {
+
+        private final Subscriber<? super ByteBuffer> mDownstream;
+        private final File mFile;
+        private final byte mDelimiter;
+        private final int mWindowSize;
+
+        private volatile boolean mCancelled;
+
+        // Доступны только из цикла эммита
+        private FileChannel mChannel;
+        private long mFileSize;
+        private MappedByteBuffer mWindow;
+        private long mWindowOffset;
+        private int mRecordStart;
+        private int mScanPosition;
+        private boolean mDone;
+
+        MappedRecordsSubscription(Subscriber<? super ByteBuffer> downstream, File file,
+                                  byte delimiter, int windowSize) {
+            mDownstream = downstream;
+            mFile = file;
+            mDelimiter = delimiter;
+            mWindowSize = windowSize;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                RxJavaPlugins.onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            for (;;) {
+                long requested = get();
+                if (requested == Long.MAX_VALUE) {
+                    return;
+                }
+                long updated = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                if (compareAndSet(requested, updated)) {
+                    if (requested == 0) {
+                        emit(updated);
+                    }
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!mCancelled) {
+                mCancelled = true;
+                // Если цикл эммита не запущен, ресурсы освобождаются здесь, иначе - в цикле
+                if (getAndIncrement() == 0) {
+                    close();
+                }
+            }
+        }
+
+        private void emit(long requested) {
+            long emitted = 0;
+            for (;;) {
+                for (;;) {
+                    if (mCancelled) {
+                        close();
+                        return;
+                    }
+                    // Конец файла проверяется и без запроса, чтобы onComplete не ждал request
+                    if (isExhausted()) {
+                        close();
+                        mDownstream.onComplete();
+                        return;
+                    }
+                    if (emitted == requested) {
+                        break;
+                    }
+                    ByteBuffer record;
+                    try {
+                        record = nextRecord();
+                    } catch (IOException e) {
+                        close();
+                        mDownstream.onError(e);
+                        return;
+                    }
+                    if (record != null) {
+                        mDownstream.onNext(record);
+                        emitted++;
+                    }
+                }
+                requested = get();
+                if (emitted == requested) {
+                    requested = addAndGet(-emitted);
+                    if (requested == 0) {
+                        return;
+                    }
+                    emitted = 0;
+                }
+            }
+        }
+
+        private boolean isExhausted() {
+            return mDone || mChannel != null && mWindowOffset + mRecordStart == mFileSize;
+        }
+
+        private ByteBuffer nextRecord() throws IOException {
+            if (mDone) {
+                return null;
+            }
+            if (mChannel == null) {
+                mChannel = new RandomAccessFile(mFile, "r").getChannel();
+                mFileSize = mChannel.size();
+                mapWindow(0);
+            }
+            for (;;) {
+                int limit = mWindow.limit();
+                for (int i = mScanPosition; i < limit; i++) {
+                    if (mWindow.get(i) == mDelimiter) {
+                        ByteBuffer record = slice(mRecordStart, i);
+                        mRecordStart = i + 1;
+                        mScanPosition = i + 1;
+                        return record;
+                    }
+                }
+                if (mWindowOffset + limit == mFileSize) {
+                    mDone = true;
+                    return mRecordStart < limit ? slice(mRecordStart, limit) : null;
+                }
+                if (mRecordStart == 0) {
+                    throw new IOException("Record at offset " + mWindowOffset
+                            + " is longer than window of " + mWindowSize + " bytes");
+                }
+                int scanned = limit - mRecordStart;
+                mapWindow(mWindowOffset + mRecordStart);
+                mScanPosition = scanned;
+            }
+        }
+
+        private void mapWindow(long offset) throws IOException {
+            long size = Math.min(mWindowSize, mFileSize - offset);
+            mWindow = mChannel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            mWindowOffset = offset;
+            mRecordStart = 0;
+            mScanPosition = 0;
+        }
+
+        private ByteBuffer slice(int from, int to) {
+            ByteBuffer record = mWindow.duplicate();
+            record.limit(to);
+            record.position(from);
+            return record.slice();
+        }
+
+        private void close() {
+            mDone = true;
+            mWindow = null;
+            if (mChannel != null) {
+                try {
+                    mChannel.close();
+                } catch (IOException e) {
+                    RxJavaPlugins.onError(e);
+                }
+                mChannel = null;
+            }
+        }
+    }
+
+}
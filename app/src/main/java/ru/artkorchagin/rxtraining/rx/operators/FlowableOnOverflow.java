@@ -0,0 +1,262 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Flowable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.plugins.RxJavaPlugins;
+import ru.artkorchagin.rxtraining.metrics.BackpressureMetrics;
+
+/**
+ * Преобразование источника без обратного давления в {@link Flowable} с явной стратегией
+ * переполнения {@link OverflowStrategy}. Элементы, на которые у получателя есть запрос,
+ * проходят через очередь без ограничения, сверх запроса очередь держит не больше
+ * {@code capacity} элементов.
+ * <p>
+ * Очередь защищена блокировкой: стратегии отбрасывания меняют её голову из потока
+ * источника, пока получатель забирает элементы из своего потока. Ошибка (в том числе
+ * переполнение) доставляется сразу, не дожидаясь разбора очереди.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class FlowableOnOverflow<T> extends Flowable<T> {
+
+    private final ObservableSource<T> mSource;
+    private final OverflowStrategy mStrategy;
+    private final int mCapacity;
+    private final BackpressureMetrics mMetrics;
+
+    /**
+     * @param capacity количество элементов сверх запроса получателя, для
+     *                 {@link OverflowStrategy#LATEST} всегда 1, для
+     *                 {@link OverflowStrategy#ERROR} всегда 0
+     * @param metrics  метрики очереди, может быть {@code null}
+     */
+    public FlowableOnOverflow(ObservableSource<T> source, OverflowStrategy strategy, int capacity,
+                              BackpressureMetrics metrics) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity >= 0 required but it was " + capacity);
+        }
+        mSource = source;
+        mStrategy = strategy;
+        switch (strategy) {
+            case LATEST:
+                mCapacity = 1;
+                break;
+            case ERROR:
+                mCapacity = 0;
+                break;
+            default:
+                mCapacity = capacity;
+                break;
+        }
+        mMetrics = metrics;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        mSource.subscribe(new OnOverflowObserver<>(subscriber, mStrategy, mCapacity, mMetrics));
+    }
+
+    static final class OnOverflowObserver<T> extends AtomicInteger
+            implements Observer<T>, Subscription {
+
+        private final Subscriber<? super T> mDownstream;
+        private final OverflowStrategy mStrategy;
+        private final int mCapacity;
+        private final BackpressureMetrics mMetrics;
+        private final ArrayDeque<T> mQueue = new ArrayDeque<>();
+        private final AtomicLong mRequested = new AtomicLong();
+
+        private Disposable mUpstream;
+        private volatile boolean mDone;
+        private volatile boolean mCancelled;
+        private volatile Throwable mError;
+
+        OnOverflowObserver(Subscriber<? super T> downstream, OverflowStrategy strategy,
+                           int capacity, BackpressureMetrics metrics) {
+            mDownstream = downstream;
+            mStrategy = strategy;
+            mCapacity = capacity;
+            mMetrics = metrics;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (mDone) {
+                return;
+            }
+            boolean overflow = false;
+            boolean dropped = false;
+            int size;
+            synchronized (mQueue) {
+                size = mQueue.size();
+                if (size - mCapacity < mRequested.get()) {
+                    mQueue.offer(value);
+                    size++;
+                } else if (mStrategy == OverflowStrategy.DROP_OLDEST
+                        || mStrategy == OverflowStrategy.LATEST) {
+                    if (mCapacity > 0) {
+                        mQueue.poll();
+                        mQueue.offer(value);
+                    }
+                    dropped = true;
+                } else if (mStrategy == OverflowStrategy.DROP_NEWEST) {
+                    dropped = true;
+                } else {
+                    overflow = true;
+                }
+            }
+            if (mMetrics != null) {
+                mMetrics.recordQueueSize(size);
+                if (dropped) {
+                    mMetrics.recordDropped();
+                }
+            }
+            if (overflow) {
+                if (mMetrics != null) {
+                    mMetrics.recordOverflow();
+                }
+                mUpstream.dispose();
+                onError(new MissingBackpressureException("Queue is full: " + mCapacity
+                        + " items over requested"));
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mError = e;
+            mDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                RxJavaPlugins.onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            for (;;) {
+                long requested = mRequested.get();
+                long updated = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                if (requested == Long.MAX_VALUE || mRequested.compareAndSet(requested, updated)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!mCancelled) {
+                mCancelled = true;
+                mUpstream.dispose();
+                if (getAndIncrement() == 0) {
+                    clear();
+                }
+            }
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    boolean done = mDone;
+                    T value = null;
+                    if (mRequested.get() != 0) {
+                        // Запрос уменьшается под той же блокировкой, что и разбор очереди, чтобы
+                        // onNext не принял элемент сверх ёмкости
+                        synchronized (mQueue) {
+                            value = mQueue.poll();
+                            if (value != null && mRequested.get() != Long.MAX_VALUE) {
+                                mRequested.decrementAndGet();
+                            }
+                        }
+                    }
+                    boolean empty;
+                    if (value == null) {
+                        synchronized (mQueue) {
+                            empty = mQueue.isEmpty();
+                        }
+                    } else {
+                        empty = false;
+                    }
+                    if (checkTerminated(done, empty)) {
+                        return;
+                    }
+                    if (value == null) {
+                        break;
+                    }
+                    mDownstream.onNext(value);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean done, boolean empty) {
+            if (mCancelled) {
+                clear();
+                return true;
+            }
+            if (!done) {
+                return false;
+            }
+            Throwable error = mError;
+            if (error != null) {
+                mCancelled = true;
+                clear();
+                mDownstream.onError(error);
+                return true;
+            }
+            if (empty) {
+                mCancelled = true;
+                mDownstream.onComplete();
+                return true;
+            }
+            return false;
+        }
+
+        private void clear() {
+            synchronized (mQueue) {
+                mQueue.clear();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,370 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import io.reactivex.Maybe;
+import io.reactivex.MaybeObserver;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Агрегации над последовательностью чисел, которые накапливают результат в примитивном поле.
+ * <p>
+ * В отличие от {@code reduce} / {@code all} / {@code count} промежуточный результат не
+ * упаковывается на каждом элементе: единственная упаковка происходит при выдаче итогового
+ * значения.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class IntAggregates {
+
+    private IntAggregates() {
+    }
+
+    /**
+     * @return {@link Single} с суммой всех элементов (с переполнением, как у {@code int}), либо 0
+     * если последовательность пустая
+     */
+    public static Single<Integer> sum(ObservableSource<Integer> source) {
+        return new AggregateSingle<>(source, new AccumulatorFactory<Integer>() {
+            @Override
+            public Accumulator<Integer> create() {
+                return new SumAccumulator(true);
+            }
+        });
+    }
+
+    /**
+     * @return {@link Maybe} с суммой всех элементов, либо пустой, если последовательность пустая
+     */
+    public static Maybe<Integer> sumOrEmpty(ObservableSource<Integer> source) {
+        return new AggregateMaybe<>(source, new AccumulatorFactory<Integer>() {
+            @Override
+            public Accumulator<Integer> create() {
+                return new SumAccumulator(false);
+            }
+        });
+    }
+
+    /**
+     * @return {@link Single} с количеством элементов
+     */
+    public static Single<Long> count(ObservableSource<Integer> source) {
+        return new AggregateSingle<>(source, new AccumulatorFactory<Long>() {
+            @Override
+            public Accumulator<Long> create() {
+                return new CountAccumulator();
+            }
+        });
+    }
+
+    /**
+     * @return {@link Maybe} с минимальным элементом, либо пустой, если последовательность пустая
+     */
+    public static Maybe<Integer> min(ObservableSource<Integer> source) {
+        return new AggregateMaybe<>(source, new AccumulatorFactory<Integer>() {
+            @Override
+            public Accumulator<Integer> create() {
+                return new ExtremumAccumulator(false);
+            }
+        });
+    }
+
+    /**
+     * @return {@link Maybe} с максимальным элементом, либо пустой, если последовательность пустая
+     */
+    public static Maybe<Integer> max(ObservableSource<Integer> source) {
+        return new AggregateMaybe<>(source, new AccumulatorFactory<Integer>() {
+            @Override
+            public Accumulator<Integer> create() {
+                return new ExtremumAccumulator(true);
+            }
+        });
+    }
+
+    /**
+     * @return {@link Single} с {@code true}, если все элементы удовлетворяют {@code predicate}.
+     * Подписка отменяется на первом неподходящем элементе
+     */
+    public static Single<Boolean> all(ObservableSource<Integer> source, final IntPredicate predicate) {
+        return new AggregateSingle<>(source, new AccumulatorFactory<Boolean>() {
+            @Override
+            public Accumulator<Boolean> create() {
+                return new MatchAccumulator(predicate, false);
+            }
+        });
+    }
+
+    /**
+     * @return {@link Single} с {@code true}, если хотя бы один элемент удовлетворяет
+     * {@code predicate}. Подписка отменяется на первом подходящем элементе
+     */
+    public static Single<Boolean> any(ObservableSource<Integer> source, final IntPredicate predicate) {
+        return new AggregateSingle<>(source, new AccumulatorFactory<Boolean>() {
+            @Override
+            public Accumulator<Boolean> create() {
+                return new MatchAccumulator(predicate, true);
+            }
+        });
+    }
+
+    /* Аккумуляторы */
+
+    interface AccumulatorFactory<R> {
+
+        Accumulator<R> create();
+    }
+
+    abstract static class Accumulator<R> {
+
+        /**
+         * @return {@code false}, если результат уже известен и остальные элементы не нужны
+         */
+        abstract boolean onValue(int value);
+
+        /**
+         * @return итоговое значение, либо {@code null} если значения нет
+         */
+        abstract R result();
+    }
+
+    static final class SumAccumulator extends Accumulator<Integer> {
+
+        private final boolean mZeroIfEmpty;
+        private int mSum;
+        private boolean mHasValue;
+
+        SumAccumulator(boolean zeroIfEmpty) {
+            mZeroIfEmpty = zeroIfEmpty;
+        }
+
+        @Override
+        boolean onValue(int value) {
+            mSum += value;
+            mHasValue = true;
+            return true;
+        }
+
+        @Override
+        Integer result() {
+            return mHasValue || mZeroIfEmpty ? Integer.valueOf(mSum) : null;
+        }
+    }
+
+    static final class CountAccumulator extends Accumulator<Long> {
+
+        private long mCount;
+
+        @Override
+        boolean onValue(int value) {
+            mCount++;
+            return true;
+        }
+
+        @Override
+        Long result() {
+            return mCount;
+        }
+    }
+
+    static final class ExtremumAccumulator extends Accumulator<Integer> {
+
+        private final boolean mMax;
+        private int mValue;
+        private boolean mHasValue;
+
+        ExtremumAccumulator(boolean max) {
+            mMax = max;
+        }
+
+        @Override
+        boolean onValue(int value) {
+            if (!mHasValue || (mMax ? value > mValue : value < mValue)) {
+                mValue = value;
+                mHasValue = true;
+            }
+            return true;
+        }
+
+        @Override
+        Integer result() {
+            return mHasValue ? Integer.valueOf(mValue) : null;
+        }
+    }
+
+    static final class MatchAccumulator extends Accumulator<Boolean> {
+
+        private final IntPredicate mPredicate;
+        private final boolean mStopOn;
+        private boolean mResult;
+
+        /**
+         * @param stopOn результат {@code predicate}, на котором ответ становится известен:
+         *               {@code false} для all, {@code true} для any
+         */
+        MatchAccumulator(IntPredicate predicate, boolean stopOn) {
+            mPredicate = predicate;
+            mStopOn = stopOn;
+            mResult = !stopOn;
+        }
+
+        @Override
+        boolean onValue(int value) {
+            if (mPredicate.test(value) == mStopOn) {
+                mResult = mStopOn;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        Boolean result() {
+            return mResult;
+        }
+    }
+
+    /* Операторы */
+
+    static final class AggregateSingle<R> extends Single<R> {
+
+        private final ObservableSource<Integer> mSource;
+        private final AccumulatorFactory<R> mFactory;
+
+        AggregateSingle(ObservableSource<Integer> source, AccumulatorFactory<R> factory) {
+            mSource = source;
+            mFactory = factory;
+        }
+
+        @Override
+        protected void subscribeActual(final SingleObserver<? super R> observer) {
+            mSource.subscribe(new AggregateObserver<R>(mFactory.create()) {
+                @Override
+                void onSubscribeDownstream(Disposable d) {
+                    observer.onSubscribe(d);
+                }
+
+                @Override
+                void onResult(R result) {
+                    observer.onSuccess(result);
+                }
+
+                @Override
+                void onFailure(Throwable e) {
+                    observer.onError(e);
+                }
+            });
+        }
+    }
+
+    static final class AggregateMaybe<R> extends Maybe<R> {
+
+        private final ObservableSource<Integer> mSource;
+        private final AccumulatorFactory<R> mFactory;
+
+        AggregateMaybe(ObservableSource<Integer> source, AccumulatorFactory<R> factory) {
+            mSource = source;
+            mFactory = factory;
+        }
+
+        @Override
+        protected void subscribeActual(final MaybeObserver<? super R> observer) {
+            mSource.subscribe(new AggregateObserver<R>(mFactory.create()) {
+                @Override
+                void onSubscribeDownstream(Disposable d) {
+                    observer.onSubscribe(d);
+                }
+
+                @Override
+                void onResult(R result) {
+                    if (result != null) {
+                        observer.onSuccess(result);
+                    } else {
+                        observer.onComplete();
+                    }
+                }
+
+                @Override
+                void onFailure(Throwable e) {
+                    observer.onError(e);
+                }
+            });
+        }
+    }
+
+    abstract static class AggregateObserver<R> implements Observer<Integer>, Disposable {
+
+        private final Accumulator<R> mAccumulator;
+        private Disposable mUpstream;
+        private boolean mDone;
+
+        AggregateObserver(Accumulator<R> accumulator) {
+            mAccumulator = accumulator;
+        }
+
+        abstract void onSubscribeDownstream(Disposable d);
+
+        abstract void onResult(R result);
+
+        abstract void onFailure(Throwable e);
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            onSubscribeDownstream(this);
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            if (mDone) {
+                return;
+            }
+            boolean more;
+            try {
+                more = mAccumulator.onValue(value);
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                mUpstream.dispose();
+                onError(e);
+                return;
+            }
+            if (!more) {
+                mUpstream.dispose();
+                onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDone = true;
+            onFailure(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            onResult(mAccumulator.result());
+        }
+
+        @Override
+        public void dispose() {
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+
+}
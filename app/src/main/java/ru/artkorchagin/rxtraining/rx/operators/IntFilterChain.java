@@ -0,0 +1,107 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.ObservableTransformer;
+
+/**
+ * Цепочка фильтров над числами, выполняемая одним подписчиком
+ * ({@link ObservableIntFilterChain}). Эквивалентна последовательному применению
+ * {@link Observable#filter}, {@link Observable#skip(long)}, {@link Observable#take(long)} и
+ * {@link Observable#distinctUntilChanged()} в том же порядке, но без отдельного подписчика и
+ * volatile состояния на каждый оператор.
+ * <p>
+ * Цепочка неизменяема: каждый метод возвращает новую цепочку, поэтому один экземпляр можно
+ * применять к любому количеству потоков через {@link Observable#compose}.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class IntFilterChain implements ObservableTransformer<Integer, Integer> {
+
+    static final int FILTER = 0;
+    static final int SKIP = 1;
+    static final int TAKE = 2;
+    static final int DISTINCT_UNTIL_CHANGED = 3;
+
+    private static final IntFilterChain EMPTY = new IntFilterChain(new int[0], new long[0],
+            new IntPredicate[0]);
+
+    final int[] mKinds;
+    final long[] mCounts;
+    final IntPredicate[] mPredicates;
+
+    private IntFilterChain(int[] kinds, long[] counts, IntPredicate[] predicates) {
+        mKinds = kinds;
+        mCounts = counts;
+        mPredicates = predicates;
+    }
+
+    /**
+     * @return пустая цепочка, пропускающая все числа
+     */
+    public static IntFilterChain create() {
+        return EMPTY;
+    }
+
+    public IntFilterChain filter(IntPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("predicate is null");
+        }
+        return append(FILTER, 0, predicate);
+    }
+
+    public IntFilterChain skip(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return append(SKIP, count, null);
+    }
+
+    public IntFilterChain take(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return append(TAKE, count, null);
+    }
+
+    public IntFilterChain distinctUntilChanged() {
+        return append(DISTINCT_UNTIL_CHANGED, 0, null);
+    }
+
+    /**
+     * @return количество операторов в цепочке
+     */
+    public int size() {
+        return mKinds.length;
+    }
+
+    boolean hasTake() {
+        for (int kind : mKinds) {
+            if (kind == TAKE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public ObservableSource<Integer> apply(Observable<Integer> upstream) {
+        return new ObservableIntFilterChain(upstream, this);
+    }
+
+    private IntFilterChain append(int kind, long count, IntPredicate predicate) {
+        int size = mKinds.length;
+        int[] kinds = new int[size + 1];
+        long[] counts = new long[size + 1];
+        IntPredicate[] predicates = new IntPredicate[size + 1];
+        System.arraycopy(mKinds, 0, kinds, 0, size);
+        System.arraycopy(mCounts, 0, counts, 0, size);
+        System.arraycopy(mPredicates, 0, predicates, 0, size);
+        kinds[size] = kind;
+        counts[size] = count;
+        predicates[size] = predicate;
+        return new IntFilterChain(kinds, counts, predicates);
+    }
+
+}
@@ -0,0 +1,13 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+/**
+ * Условие над примитивным {@code int}, без упаковки в {@link Integer}
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public interface IntPredicate {
+
+    boolean test(int value);
+
+}
@@ -0,0 +1,123 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import java.nio.IntBuffer;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Пропуск повторяющихся подряд чисел в блоках {@code int[]}, блочный аналог
+ * {@link Observable#distinctUntilChanged()}. Последнее число переносится между блоками.
+ * <p>
+ * Блок сканируется одним циклом без ветвлений: каждое число записывается в выходной буфер, а
+ * позиция записи сдвигается только если число отличается от предыдущего. Выходной буфер один
+ * на подписку, поэтому эммитится один и тот же {@link IntBuffer}, действительный только до
+ * следующего {@code onNext}: получатель должен обработать его синхронно, например не через
+ * {@link Observable#observeOn}. Блоки, из которых не осталось чисел, не эммитятся.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableIntChangedChunks extends Observable<IntBuffer> {
+
+    private static final int INITIAL_SIZE = 64;
+
+    private final ObservableSource<int[]> mSource;
+
+    public ObservableIntChangedChunks(ObservableSource<int[]> source) {
+        mSource = source;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super IntBuffer> observer) {
+        mSource.subscribe(new IntChangedChunksObserver(observer));
+    }
+
+    static final class IntChangedChunksObserver implements Observer<int[]>, Disposable {
+
+        private final Observer<? super IntBuffer> mDownstream;
+        private Disposable mUpstream;
+        private int[] mOutput = new int[INITIAL_SIZE];
+        private IntBuffer mOutputBuffer = IntBuffer.wrap(mOutput);
+        private int mLast;
+        private boolean mHasLast;
+        private boolean mDone;
+
+        IntChangedChunksObserver(Observer<? super IntBuffer> downstream) {
+            mDownstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(int[] chunk) {
+            if (mDone || chunk.length == 0) {
+                return;
+            }
+            int length = chunk.length;
+            if (mOutput.length < length) {
+                mOutput = new int[Math.max(length, mOutput.length * 2)];
+                mOutputBuffer = IntBuffer.wrap(mOutput);
+            }
+            int[] output = mOutput;
+            int last = mLast;
+            int count = 0;
+            int start = 0;
+            if (!mHasLast) {
+                last = chunk[0];
+                output[count++] = last;
+                start = 1;
+                mHasLast = true;
+            }
+            for (int i = start; i < length; i++) {
+                int value = chunk[i];
+                output[count] = value;
+                count += value != last ? 1 : 0;
+                last = value;
+            }
+            mLast = last;
+            if (count > 0) {
+                mOutputBuffer.clear();
+                mOutputBuffer.limit(count);
+                mDownstream.onNext(mOutputBuffer);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDone = true;
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            mDownstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+
+}
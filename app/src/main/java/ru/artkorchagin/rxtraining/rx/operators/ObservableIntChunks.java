@@ -0,0 +1,114 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+import ru.artkorchagin.rxtraining.buffer.IntChunk;
+import ru.artkorchagin.rxtraining.buffer.IntChunkPool;
+
+/**
+ * Собирает числа в блоки {@link IntChunk} из пула. Незаполненный последний блок эммитится при
+ * {@code onComplete}, при ошибке он возвращается в пул.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableIntChunks extends Observable<IntChunk> {
+
+    private final ObservableSource<Integer> mSource;
+    private final IntChunkPool mPool;
+
+    public ObservableIntChunks(ObservableSource<Integer> source, IntChunkPool pool) {
+        mSource = source;
+        mPool = pool;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super IntChunk> observer) {
+        mSource.subscribe(new IntChunksObserver(observer, mPool));
+    }
+
+    static final class IntChunksObserver implements Observer<Integer>, Disposable {
+
+        private final Observer<? super IntChunk> mDownstream;
+        private final IntChunkPool mPool;
+        private Disposable mUpstream;
+        private IntChunk mChunk;
+        private boolean mDone;
+
+        IntChunksObserver(Observer<? super IntChunk> downstream, IntChunkPool pool) {
+            mDownstream = downstream;
+            mPool = pool;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            if (mDone) {
+                return;
+            }
+            IntChunk chunk = mChunk;
+            if (chunk == null) {
+                chunk = mPool.acquire();
+                mChunk = chunk;
+            }
+            if (chunk.put(value)) {
+                mChunk = null;
+                mDownstream.onNext(chunk);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDone = true;
+            releaseChunk();
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            IntChunk chunk = mChunk;
+            mChunk = null;
+            if (chunk != null) {
+                mDownstream.onNext(chunk);
+            }
+            mDownstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            // Отписка может прийти из другого потока, поэтому незаполненный блок не трогаем:
+            // он просто не вернётся в пул
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+
+        private void releaseChunk() {
+            IntChunk chunk = mChunk;
+            mChunk = null;
+            if (chunk != null) {
+                chunk.release();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+import ru.artkorchagin.rxtraining.buffer.ByteChunk;
+import ru.artkorchagin.rxtraining.buffer.ByteChunkPool;
+import ru.artkorchagin.rxtraining.buffer.IntDecimal;
+
+/**
+ * Записывает числа в десятичном виде с разделителем {@code delimiter} в байтовые блоки
+ * {@link ByteChunk} из пула. Блок эммитится, как только в него может не поместиться следующее
+ * число, незаполненный последний блок эммитится при {@code onComplete}, при ошибке он
+ * возвращается в пул.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableIntDecimalChunks extends Observable<ByteChunk> {
+
+    /** Место под самое длинное число и разделитель */
+    private static final int MAX_RECORD_LENGTH = IntDecimal.MAX_LENGTH + 1;
+
+    private final ObservableSource<Integer> mSource;
+    private final ByteChunkPool mPool;
+    private final byte mDelimiter;
+
+    public ObservableIntDecimalChunks(ObservableSource<Integer> source, ByteChunkPool pool,
+                                      byte delimiter) {
+        if (pool.getChunkSize() < MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("chunkSize >= " + MAX_RECORD_LENGTH
+                    + " required but it was " + pool.getChunkSize());
+        }
+        mSource = source;
+        mPool = pool;
+        mDelimiter = delimiter;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super ByteChunk> observer) {
+        mSource.subscribe(new IntDecimalChunksObserver(observer, mPool, mDelimiter));
+    }
+
+    static final class IntDecimalChunksObserver implements Observer<Integer>, Disposable {
+
+        private final Observer<? super ByteChunk> mDownstream;
+        private final ByteChunkPool mPool;
+        private final byte mDelimiter;
+        private Disposable mUpstream;
+        private ByteChunk mChunk;
+        private boolean mDone;
+
+        IntDecimalChunksObserver(Observer<? super ByteChunk> downstream, ByteChunkPool pool,
+                                 byte delimiter) {
+            mDownstream = downstream;
+            mPool = pool;
+            mDelimiter = delimiter;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            if (mDone) {
+                return;
+            }
+            ByteChunk chunk = mChunk;
+            if (chunk == null) {
+                chunk = mPool.acquire();
+                mChunk = chunk;
+            }
+            chunk.putDecimal(value);
+            chunk.put(mDelimiter);
+            if (chunk.remaining() < MAX_RECORD_LENGTH) {
+                mChunk = null;
+                mDownstream.onNext(chunk);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDone = true;
+            ByteChunk chunk = mChunk;
+            mChunk = null;
+            if (chunk != null) {
+                chunk.release();
+            }
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            ByteChunk chunk = mChunk;
+            mChunk = null;
+            if (chunk != null) {
+                mDownstream.onNext(chunk);
+            }
+            mDownstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            // Как и в ObservableIntChunks, незаполненный блок при отписке не возвращается в пул
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.internal.fuseable.QueueDisposable;
+import io.reactivex.internal.fuseable.QueueFuseable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Выполнение {@link IntFilterChain} одним подписчиком: каждый элемент проходит все операторы
+ * цепочки в одном цикле, состояние операторов хранится в обычных полях подписки.
+ * <p>
+ * Поддерживает слияние очередей RxJava (в RxJava 2 этот протокол доступен только через
+ * {@code io.reactivex.internal.fuseable}): синхронное с источниками вроде
+ * {@link Observable#range(int, int)} и асинхронное с {@link io.reactivex.subjects.UnicastSubject}
+ * и {@link Observable#observeOn}. Слияние через границу потоков не поддерживается, так как
+ * условия должны выполняться на потоке источника. Цепочка с {@code take} сливается только
+ * синхронно: завершение по {@code take} в асинхронном режиме потребовало бы отдельного
+ * сигнала.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableIntFilterChain extends Observable<Integer> {
+
+    private final ObservableSource<Integer> mSource;
+    private final IntFilterChain mChain;
+
+    public ObservableIntFilterChain(ObservableSource<Integer> source, IntFilterChain chain) {
+        mSource = source;
+        mChain = chain;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super Integer> observer) {
+        mSource.subscribe(new IntFilterChainObserver(observer, mChain));
+    }
+
+    static final class IntFilterChainObserver implements Observer<Integer>, QueueDisposable<Integer> {
+
+        private final Observer<? super Integer> mDownstream;
+        private final int[] mKinds;
+        private final IntPredicate[] mPredicates;
+        private final boolean mHasTake;
+        /** Оставшиеся количества для skip и take */
+        private final long[] mRemaining;
+        /** Предыдущие значения для distinctUntilChanged */
+        private final int[] mLast;
+        private final boolean[] mHasLast;
+
+        private Disposable mUpstream;
+        private QueueDisposable<Integer> mQueue;
+        private int mSourceMode;
+        private boolean mTakeDone;
+        private boolean mDone;
+
+        IntFilterChainObserver(Observer<? super Integer> downstream, IntFilterChain chain) {
+            mDownstream = downstream;
+            mKinds = chain.mKinds;
+            mPredicates = chain.mPredicates;
+            mHasTake = chain.hasTake();
+            mRemaining = chain.mCounts.clone();
+            mLast = new int[mKinds.length];
+            mHasLast = new boolean[mKinds.length];
+            for (int i = 0; i < mKinds.length; i++) {
+                if (mKinds[i] == IntFilterChain.TAKE && mRemaining[i] == 0) {
+                    mTakeDone = true;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            if (d instanceof QueueDisposable) {
+                mQueue = (QueueDisposable<Integer>) d;
+            }
+            mDownstream.onSubscribe(this);
+            if (mTakeDone && !mDone) {
+                mDone = true;
+                d.dispose();
+                mDownstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            if (mDone) {
+                return;
+            }
+            if (mSourceMode != NONE) {
+                mDownstream.onNext(null);
+                return;
+            }
+            boolean pass;
+            try {
+                pass = test(value);
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                mUpstream.dispose();
+                onError(e);
+                return;
+            }
+            if (pass) {
+                mDownstream.onNext(value);
+            }
+            if (mTakeDone) {
+                mDone = true;
+                mUpstream.dispose();
+                mDownstream.onComplete();
+            }
+        }
+
+        /**
+         * Проход элемента по всем операторам цепочки
+         */
+        private boolean test(int value) {
+            int[] kinds = mKinds;
+            for (int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case IntFilterChain.FILTER:
+                        if (!mPredicates[i].test(value)) {
+                            return false;
+                        }
+                        break;
+                    case IntFilterChain.SKIP:
+                        if (mRemaining[i] > 0) {
+                            mRemaining[i]--;
+                            return false;
+                        }
+                        break;
+                    case IntFilterChain.TAKE:
+                        if (--mRemaining[i] == 0) {
+                            mTakeDone = true;
+                        }
+                        break;
+                    default:
+                        if (mHasLast[i] && mLast[i] == value) {
+                            return false;
+                        }
+                        mLast[i] = value;
+                        mHasLast[i] = true;
+                        break;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDone = true;
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            mDownstream.onComplete();
+        }
+
+        @Override
+        public int requestFusion(int mode) {
+            QueueDisposable<Integer> queue = mQueue;
+            if (queue == null || (mode & QueueFuseable.BOUNDARY) != 0 || mTakeDone) {
+                return NONE;
+            }
+            int requested = mHasTake ? mode & QueueFuseable.SYNC : mode;
+            if (requested == NONE) {
+                return NONE;
+            }
+            int fusionMode = queue.requestFusion(requested);
+            mSourceMode = fusionMode;
+            return fusionMode;
+        }
+
+        @Override
+        public Integer poll() throws Exception {
+            if (mTakeDone) {
+                return null;
+            }
+            for (;;) {
+                Integer value = mQueue.poll();
+                if (value == null) {
+                    return null;
+                }
+                if (test(value)) {
+                    return value;
+                }
+                if (mTakeDone) {
+                    return null;
+                }
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return mTakeDone || mQueue.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            mQueue.clear();
+        }
+
+        @Override
+        public boolean offer(Integer value) {
+            throw new UnsupportedOperationException("Should not be called!");
+        }
+
+        @Override
+        public boolean offer(Integer v1, Integer v2) {
+            throw new UnsupportedOperationException("Should not be called!");
+        }
+
+        @Override
+        public void dispose() {
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+import ru.artkorchagin.rxtraining.rx.schedulers.SharedTicker;
+
+/**
+ * Выборка последнего числа за период по тику {@link SharedTicker}, аналог
+ * {@link Observable#sample(long, java.util.concurrent.TimeUnit)} без выделения памяти на
+ * {@code onNext}.
+ * <p>
+ * Последнее значение и его порядковый номер упакованы в одно {@code volatile long}: номер в
+ * старших 32 битах, значение в младших. Запись элемента - одна volatile запись без CAS, а тик
+ * по номеру понимает, пришло ли новое значение с прошлой выборки. Поле окружено отступами,
+ * чтобы слоты соседних выборок не попадали в одну кэш-линию.
+ * <p>
+ * Значения эммитятся на потоке тика. Последнее значение при {@code onComplete} не эммитится.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableIntSample extends Observable<Integer> {
+
+    private final ObservableSource<Integer> mSource;
+    private final SharedTicker mTicker;
+
+    public ObservableIntSample(ObservableSource<Integer> source, SharedTicker ticker) {
+        mSource = source;
+        mTicker = ticker;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super Integer> observer) {
+        mSource.subscribe(new IntSampleObserver(observer, mTicker));
+    }
+
+    @SuppressWarnings("unused")
+    static class LhsPadding {
+        long mP1, mP2, mP3, mP4, mP5, mP6, mP7;
+    }
+
+    static class SlotValue extends LhsPadding {
+        volatile long mSlot;
+    }
+
+    @SuppressWarnings("unused")
+    static class RhsPadding extends SlotValue {
+        long mP9, mP10, mP11, mP12, mP13, mP14, mP15;
+    }
+
+    static final class IntSampleObserver extends RhsPadding
+            implements Observer<Integer>, Disposable, SharedTicker.Listener {
+
+        private final Observer<? super Integer> mDownstream;
+        private final SharedTicker mTicker;
+        private final AtomicInteger mWip = new AtomicInteger();
+        private Disposable mUpstream;
+        /** Номер последней записи, только для потока источника */
+        private int mWriteSequence;
+        /** Номер последнего эммита, только для потока тика */
+        private int mEmittedSequence;
+        private volatile boolean mDisposed;
+        private Throwable mError;
+        private boolean mDone;
+
+        IntSampleObserver(Observer<? super Integer> downstream, SharedTicker ticker) {
+            mDownstream = downstream;
+            mTicker = ticker;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+            if (!mDisposed) {
+                mTicker.register(this);
+            }
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            if (mDone) {
+                return;
+            }
+            int sequence = ++mWriteSequence;
+            mSlot = ((long) sequence << 32) | (value & 0xFFFFFFFFL);
+        }
+
+        @Override
+        public void onTick() {
+            long slot = mSlot;
+            int sequence = (int) (slot >>> 32);
+            if (sequence == mEmittedSequence || mDisposed) {
+                return;
+            }
+            if (mWip.get() == 0 && mWip.compareAndSet(0, 1)) {
+                mEmittedSequence = sequence;
+                mDownstream.onNext((int) slot);
+                if (mWip.decrementAndGet() != 0) {
+                    terminate();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDone = true;
+            mError = e;
+            mTicker.unregister(this);
+            if (mWip.getAndIncrement() == 0) {
+                terminate();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            mTicker.unregister(this);
+            if (mWip.getAndIncrement() == 0) {
+                terminate();
+            }
+        }
+
+        /**
+         * Терминальное событие доставляет тот, кто последним вышел из эммита
+         */
+        private void terminate() {
+            if (mDisposed) {
+                return;
+            }
+            Throwable error = mError;
+            if (error != null) {
+                mDownstream.onError(error);
+            } else {
+                mDownstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!mDisposed) {
+                mDisposed = true;
+                mTicker.unregister(this);
+                mUpstream.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+    }
+
+}
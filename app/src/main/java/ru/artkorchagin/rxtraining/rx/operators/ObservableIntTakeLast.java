@@ -0,0 +1,117 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import java.util.concurrent.Callable;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.plugins.RxJavaPlugins;
+import ru.artkorchagin.rxtraining.buffer.IntRing;
+
+/**
+ * Последние числа потока в кольцевом буфере {@link IntRing}, аналог
+ * {@link Observable#takeLast(int)} без упаковки и узлов очереди на каждый элемент. Числа
+ * эммитятся от старого к новому после {@code onComplete} источника.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableIntTakeLast extends Observable<Integer> {
+
+    private final ObservableSource<Integer> mSource;
+    private final Callable<? extends IntRing> mRingSupplier;
+
+    /**
+     * @param ringSupplier создаёт новый буфер на каждую подписку, ёмкость буфера - количество
+     *                     последних чисел
+     */
+    public ObservableIntTakeLast(ObservableSource<Integer> source,
+                                 Callable<? extends IntRing> ringSupplier) {
+        mSource = source;
+        mRingSupplier = ringSupplier;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super Integer> observer) {
+        IntRing ring;
+        try {
+            ring = mRingSupplier.call();
+        } catch (Throwable e) {
+            Exceptions.throwIfFatal(e);
+            observer.onSubscribe(Disposables.disposed());
+            observer.onError(e);
+            return;
+        }
+        mSource.subscribe(new IntTakeLastObserver(observer, ring));
+    }
+
+    static final class IntTakeLastObserver implements Observer<Integer>, Disposable {
+
+        private final Observer<? super Integer> mDownstream;
+        private IntRing mRing;
+        private Disposable mUpstream;
+        private volatile boolean mDisposed;
+
+        IntTakeLastObserver(Observer<? super Integer> downstream, IntRing ring) {
+            mDownstream = downstream;
+            mRing = ring;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            IntRing ring = mRing;
+            if (ring != null) {
+                ring.add(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mRing == null) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mRing = null;
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            IntRing ring = mRing;
+            if (ring == null) {
+                return;
+            }
+            mRing = null;
+            for (int i = 0, size = ring.size(); i < size; i++) {
+                if (mDisposed) {
+                    return;
+                }
+                mDownstream.onNext(ring.get(i));
+            }
+            if (!mDisposed) {
+                mDownstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            mDisposed = true;
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.observables.ConnectableObservable;
+
+/**
+ * Общее выполнение источника для всех подписчиков с запоминанием результата.
+ * <ul>
+ * <li>первая подписка запускает источник, одновременные подписчики присоединяются к нему и
+ * получают уже полученные элементы;</li>
+ * <li>после успешного завершения все последующие подписчики получают запомненные элементы без
+ * повторного запуска;</li>
+ * <li>если все подписчики отписались до завершения, источник отменяется, и следующая подписка
+ * запустит его заново;</li>
+ * <li>ошибка не запоминается: следующая подписка запустит источник заново.</li>
+ * </ul>
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableMemoize<T> extends Observable<T> {
+
+    private final ObservableSource<T> mSource;
+
+    private ConnectableObservable<T> mReplay;
+    private Disposable mConnection;
+    private int mSubscriberCount;
+    private boolean mCompleted;
+
+    public ObservableMemoize(ObservableSource<T> source) {
+        mSource = source;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        final ConnectableObservable<T> replay;
+        boolean connect = false;
+        synchronized (this) {
+            if (mReplay == null) {
+                mReplay = createReplay();
+                connect = true;
+            }
+            replay = mReplay;
+            mSubscriberCount++;
+        }
+
+        replay.doOnDispose(new Action() {
+            @Override
+            public void run() {
+                onSubscriberDisposed(replay);
+            }
+        }).subscribe(observer);
+
+        if (connect) {
+            replay.connect(new Consumer<Disposable>() {
+                @Override
+                public void accept(Disposable connection) {
+                    onConnected(replay, connection);
+                }
+            });
+        }
+    }
+
+    private ConnectableObservable<T> createReplay() {
+        return Observable.wrap(mSource)
+                .doOnComplete(new Action() {
+                    @Override
+                    public void run() {
+                        onSourceCompleted();
+                    }
+                })
+                .doOnError(new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable throwable) {
+                        onSourceFailed();
+                    }
+                })
+                .replay();
+    }
+
+    private synchronized void onConnected(ConnectableObservable<T> replay, Disposable connection) {
+        if (mReplay == replay) {
+            mConnection = connection;
+        } else {
+            // Все подписчики успели отписаться до подключения
+            connection.dispose();
+        }
+    }
+
+    private synchronized void onSourceCompleted() {
+        mCompleted = true;
+        mConnection = null;
+    }
+
+    private synchronized void onSourceFailed() {
+        reset();
+    }
+
+    private void onSubscriberDisposed(ConnectableObservable<T> replay) {
+        Disposable connection = null;
+        synchronized (this) {
+            if (mReplay != replay || mCompleted) {
+                return;
+            }
+            if (--mSubscriberCount == 0) {
+                connection = mConnection;
+                reset();
+            }
+        }
+        if (connection != null) {
+            connection.dispose();
+        }
+    }
+
+    private void reset() {
+        mReplay = null;
+        mConnection = null;
+        mSubscriberCount = 0;
+        mCompleted = false;
+    }
+
+}
@@ -0,0 +1,359 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.functions.Function;
+import io.reactivex.plugins.RxJavaPlugins;
+import ru.artkorchagin.rxtraining.metrics.HeadOfLineMetrics;
+
+/**
+ * Упорядоченный конкурентный {@code flatMap} в духе {@link Observable#concatMapEager}:
+ * одновременно активно не больше {@code maxConcurrency} внутренних источников, а их
+ * результаты эммитятся в порядке входных элементов. Элементы первого в очереди источника
+ * эммитятся сразу, не дожидаясь его завершения, остальные копятся в его буфере.
+ * <p>
+ * Буфер каждого ожидающего внутреннего источника ограничен {@code bufferSize} элементами.
+ * Источники {@link Observable} не умеют замедляться, поэтому переполнение буфера завершает
+ * поток с {@link MissingBackpressureException}. Первый в очереди источник не ограничен: если
+ * он эммитит синхронно, во время подписки, сверх буфера элементы переливаются в
+ * неограниченную очередь и эммитятся сразу после подписки. Для запросов по одной сущности
+ * достаточно буфера в один элемент.
+ * <p>
+ * Ошибка любого источника сразу завершает поток, активные источники отменяются.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableOrderedFlatMap<T, R> extends Observable<R> {
+
+    private final ObservableSource<T> mSource;
+    private final Function<? super T, ? extends ObservableSource<? extends R>> mMapper;
+    private final int mMaxConcurrency;
+    private final int mBufferSize;
+    private final HeadOfLineMetrics mMetrics;
+
+    /**
+     * @param metrics метрики блокировки в начале очереди, может быть {@code null}
+     */
+    public ObservableOrderedFlatMap(ObservableSource<T> source,
+                                    Function<? super T, ? extends ObservableSource<? extends R>> mapper,
+                                    int maxConcurrency, int bufferSize, HeadOfLineMetrics metrics) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was "
+                    + maxConcurrency);
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        mSource = source;
+        mMapper = mapper;
+        mMaxConcurrency = maxConcurrency;
+        mBufferSize = bufferSize;
+        mMetrics = metrics;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super R> observer) {
+        mSource.subscribe(new OrderedFlatMapObserver<T, R>(observer, mMapper, mMaxConcurrency,
+                mBufferSize, mMetrics));
+    }
+
+    static final class OrderedFlatMapObserver<T, R> extends AtomicInteger
+            implements Observer<T>, Disposable {
+
+        private final Observer<? super R> mDownstream;
+        private final Function<? super T, ? extends ObservableSource<? extends R>> mMapper;
+        private final int mMaxConcurrency;
+        private final int mBufferSize;
+        private final HeadOfLineMetrics mMetrics;
+        private final Queue<T> mSourceQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> mError = new AtomicReference<>();
+        /** Активные внутренние источники в порядке входа, доступ только из цикла drain */
+        private final ArrayDeque<InnerObserver<R>> mInners = new ArrayDeque<>();
+
+        private Disposable mUpstream;
+        private volatile boolean mDone;
+        private volatile boolean mDisposed;
+
+        OrderedFlatMapObserver(Observer<? super R> downstream,
+                               Function<? super T, ? extends ObservableSource<? extends R>> mapper,
+                               int maxConcurrency, int bufferSize, HeadOfLineMetrics metrics) {
+            mDownstream = downstream;
+            mMapper = mapper;
+            mMaxConcurrency = maxConcurrency;
+            mBufferSize = bufferSize;
+            mMetrics = metrics;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T value) {
+            mSourceQueue.offer(value);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (mError.compareAndSet(null, e)) {
+                mDone = true;
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            mDone = true;
+            drain();
+        }
+
+        void innerError(Throwable e) {
+            if (mError.compareAndSet(null, e)) {
+                mUpstream.dispose();
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!mDisposed) {
+                mDisposed = true;
+                mUpstream.dispose();
+                drain();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (mDisposed) {
+                    clear();
+                } else if (mError.get() != null) {
+                    terminateWithError();
+                } else if (subscribeInners() | emitHead()) {
+                    // Выпущен первый источник или подписан новый: освободилось место, проходим
+                    // цикл ещё раз
+                    continue;
+                } else {
+                    boolean done = mDone;
+                    if (done && mSourceQueue.isEmpty() && mInners.isEmpty()) {
+                        mDisposed = true;
+                        mDownstream.onComplete();
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean subscribeInners() {
+            boolean subscribed = false;
+            while (mInners.size() < mMaxConcurrency && mError.get() == null && !mDisposed) {
+                T value = mSourceQueue.poll();
+                if (value == null) {
+                    break;
+                }
+                ObservableSource<? extends R> source;
+                try {
+                    source = mMapper.apply(value);
+                    if (source == null) {
+                        throw new NullPointerException("The mapper returned a null ObservableSource");
+                    }
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    innerError(e);
+                    return true;
+                }
+                InnerObserver<R> inner = new InnerObserver<>(this, mBufferSize);
+                inner.mHead = mInners.isEmpty();
+                mInners.offer(inner);
+                source.subscribe(inner);
+                subscribed = true;
+            }
+            return subscribed;
+        }
+
+        /**
+         * @return {@code true}, если первый источник выпущен полностью
+         */
+        private boolean emitHead() {
+            InnerObserver<R> head = mInners.peek();
+            if (head == null) {
+                return false;
+            }
+            boolean innerDone = head.mDone;
+            R value;
+            while ((value = head.poll()) != null) {
+                if (mDisposed || mError.get() != null) {
+                    return true;
+                }
+                mDownstream.onNext(value);
+            }
+            if (!innerDone) {
+                return false;
+            }
+            mInners.poll();
+            if (mMetrics != null) {
+                mMetrics.recordRelease();
+            }
+            InnerObserver<R> next = mInners.peek();
+            if (next != null) {
+                next.mHead = true;
+                if (mMetrics != null) {
+                    mMetrics.recordWaiting(mInners.size() - 1);
+                    if (next.mDone) {
+                        mMetrics.recordBlocked(System.nanoTime() - next.mCompletedNanos);
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void terminateWithError() {
+            mDisposed = true;
+            mUpstream.dispose();
+            clear();
+            mDownstream.onError(mError.get());
+        }
+
+        private void clear() {
+            InnerObserver<R> inner;
+            while ((inner = mInners.poll()) != null) {
+                inner.dispose();
+            }
+            mSourceQueue.clear();
+        }
+    }
+
+    /**
+     * Подписчик внутреннего источника с однопоточным (один писатель, один читатель)
+     * кольцевым буфером. Когда источник первый в очереди и кольцо заполнено, элементы
+     * переливаются в неограниченную очередь и дальше пишутся только в неё, чтобы сохранить
+     * порядок
+     */
+    static final class InnerObserver<R> extends AtomicReference<Disposable> implements Observer<R> {
+
+        private static final Disposable DISPOSED = Disposables.disposed();
+
+        private final OrderedFlatMapObserver<?, R> mParent;
+        private final AtomicReferenceArray<R> mBuffer;
+        private final int mMask;
+        private final int mCapacity;
+        private final AtomicLong mProducerIndex = new AtomicLong();
+        private final AtomicLong mConsumerIndex = new AtomicLong();
+        private final Queue<R> mOverflow = new ConcurrentLinkedQueue<>();
+        /** Переливание началось, после этого кольцо больше не пополняется */
+        private volatile boolean mSpilled;
+        volatile boolean mHead;
+        volatile boolean mDone;
+        volatile long mCompletedNanos;
+
+        InnerObserver(OrderedFlatMapObserver<?, R> parent, int capacity) {
+            mParent = parent;
+            mCapacity = capacity;
+            int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+            mBuffer = new AtomicReferenceArray<>(size);
+            mMask = size - 1;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            if (!compareAndSet(null, d)) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(R value) {
+            if (get() == DISPOSED) {
+                return;
+            }
+            if (mSpilled) {
+                mOverflow.offer(value);
+                mParent.drain();
+                return;
+            }
+            long index = mProducerIndex.get();
+            if (index - mConsumerIndex.get() >= mCapacity) {
+                if (mHead) {
+                    mSpilled = true;
+                    mOverflow.offer(value);
+                    mParent.drain();
+                    return;
+                }
+                dispose();
+                mParent.innerError(new MissingBackpressureException(
+                        "Inner buffer of " + mCapacity + " items is full"));
+                return;
+            }
+            mBuffer.lazySet((int) index & mMask, value);
+            mProducerIndex.lazySet(index + 1);
+            mParent.drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            mParent.innerError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mCompletedNanos = System.nanoTime();
+            mDone = true;
+            mParent.drain();
+        }
+
+        R poll() {
+            // Флаг читается до индексов: если переливание началось, кольцо уже не пополнится
+            boolean spilled = mSpilled;
+            long index = mConsumerIndex.get();
+            if (index == mProducerIndex.get()) {
+                return spilled ? mOverflow.poll() : null;
+            }
+            int offset = (int) index & mMask;
+            R value = mBuffer.get(offset);
+            mBuffer.lazySet(offset, null);
+            mConsumerIndex.lazySet(index + 1);
+            return value;
+        }
+
+        void dispose() {
+            Disposable d = getAndSet(DISPOSED);
+            if (d != null && d != DISPOSED) {
+                d.dispose();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.SerialDisposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.functions.Function;
+import io.reactivex.observables.GroupedObservable;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.subjects.UnicastSubject;
+import ru.artkorchagin.rxtraining.rx.schedulers.RailSchedulers;
+
+/**
+ * {@code groupBy}, в котором элементы каждой группы доставляются на рельсе из
+ * {@link RailSchedulers}, закреплённом за ключом группы. Порядок элементов внутри группы
+ * сохраняется, разные группы обрабатываются параллельно.
+ * <p>
+ * Группа, в которую не приходило элементов дольше {@code idleMills}, завершается
+ * ({@code onComplete}) и забывается; следующий элемент с тем же ключом откроет новую группу.
+ * Проверка выполняется при получении очередного элемента и периодически по таймеру на
+ * {@code clock}, поэтому группы завершаются и тогда, когда источник перестал эммитить. Таймер и
+ * события источника сериализуются, вытеснение не конкурирует с доставкой элементов.
+ * <p>
+ * Отписка от результата отменяет подписку на источник, останавливает таймер и завершает
+ * открытые группы.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableRailGroupBy<T, K> extends Observable<GroupedObservable<K, T>> {
+
+    private final ObservableSource<T> mSource;
+    private final Function<? super T, ? extends K> mKeySelector;
+    private final RailSchedulers mRails;
+    private final long mIdleMills;
+    private final Scheduler mClock;
+
+    /**
+     * @param idleMills время простоя группы в миллисекундах, после которого она завершается
+     * @param clock     {@link Scheduler}, по времени которого отсчитывается простой
+     */
+    public ObservableRailGroupBy(ObservableSource<T> source, Function<? super T, ? extends K> keySelector,
+                                 RailSchedulers rails, long idleMills, Scheduler clock) {
+        if (idleMills <= 0) {
+            throw new IllegalArgumentException("idleMills > 0 required but it was " + idleMills);
+        }
+        mSource = source;
+        mKeySelector = keySelector;
+        mRails = rails;
+        mIdleMills = idleMills;
+        mClock = clock;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super GroupedObservable<K, T>> observer) {
+        mSource.subscribe(new GroupByObserver<>(observer, this));
+    }
+
+    static final class GroupByObserver<T, K> implements Observer<T>, Disposable, Runnable {
+
+        private final Observer<? super GroupedObservable<K, T>> mDownstream;
+        private final ObservableRailGroupBy<T, K> mParent;
+        private final LinkedHashMap<K, RailGroup<K, T>> mGroups = new LinkedHashMap<>(16, 0.75f, true);
+        private final SerialDisposable mTimer = new SerialDisposable();
+        private Disposable mUpstream;
+        private boolean mDone;
+
+        GroupByObserver(Observer<? super GroupedObservable<K, T>> downstream,
+                        ObservableRailGroupBy<T, K> parent) {
+            mDownstream = downstream;
+            mParent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+            mTimer.replace(mParent.mClock.schedulePeriodicallyDirect(this, mParent.mIdleMills,
+                    mParent.mIdleMills, TimeUnit.MILLISECONDS));
+        }
+
+        /**
+         * Периодическое вытеснение простаивающих групп
+         */
+        @Override
+        public synchronized void run() {
+            if (!mDone) {
+                evictIdle(mParent.mClock.now(TimeUnit.MILLISECONDS));
+            }
+        }
+
+        @Override
+        public synchronized void onNext(T value) {
+            if (mDone) {
+                return;
+            }
+            K key;
+            try {
+                key = mParent.mKeySelector.apply(value);
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                mUpstream.dispose();
+                onError(e);
+                return;
+            }
+
+            long now = mParent.mClock.now(TimeUnit.MILLISECONDS);
+            evictIdle(now);
+
+            RailGroup<K, T> group = mGroups.get(key);
+            if (group == null) {
+                group = new RailGroup<>(key, mParent.mRails.railFor(key));
+                mGroups.put(key, group);
+                mDownstream.onNext(group);
+            }
+            group.mLastSeen = now;
+            group.mSubject.onNext(value);
+        }
+
+        /**
+         * Группы в {@link #mGroups} упорядочены по последнему обращению, поэтому простаивающие
+         * находятся в начале
+         */
+        private void evictIdle(long now) {
+            Iterator<RailGroup<K, T>> iterator = mGroups.values().iterator();
+            while (iterator.hasNext()) {
+                RailGroup<K, T> group = iterator.next();
+                if (now - group.mLastSeen < mParent.mIdleMills) {
+                    return;
+                }
+                iterator.remove();
+                group.mSubject.onComplete();
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable e) {
+            if (mDone) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDone = true;
+            mTimer.dispose();
+            for (RailGroup<K, T> group : drainGroups()) {
+                group.mSubject.onError(e);
+            }
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            mTimer.dispose();
+            for (RailGroup<K, T> group : drainGroups()) {
+                group.mSubject.onComplete();
+            }
+            mDownstream.onComplete();
+        }
+
+        private List<RailGroup<K, T>> drainGroups() {
+            List<RailGroup<K, T>> groups = new ArrayList<>(mGroups.values());
+            mGroups.clear();
+            return groups;
+        }
+
+        @Override
+        public void dispose() {
+            mUpstream.dispose();
+            mTimer.dispose();
+            synchronized (this) {
+                if (mDone) {
+                    return;
+                }
+                mDone = true;
+                for (RailGroup<K, T> group : drainGroups()) {
+                    group.mSubject.onComplete();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+
+    static final class RailGroup<K, T> extends GroupedObservable<K, T> {
+
+        final UnicastSubject<T> mSubject = UnicastSubject.create();
+        private final Scheduler mRail;
+        long mLastSeen;
+
+        RailGroup(K key, Scheduler rail) {
+            super(key);
+            mRail = rail;
+        }
+
+        @Override
+        protected void subscribeActual(Observer<? super T> observer) {
+            mSubject.observeOn(mRail).subscribe(observer);
+        }
+    }
+
+}
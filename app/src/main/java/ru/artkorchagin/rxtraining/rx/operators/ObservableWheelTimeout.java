@@ -0,0 +1,156 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+import ru.artkorchagin.rxtraining.rx.schedulers.TimeoutWheel;
+
+/**
+ * Таймаут между элементами на общем {@link TimeoutWheel}, аналог
+ * {@link Observable#timeout(long, TimeUnit)} без постановки задачи на каждый элемент.
+ * <p>
+ * {@code onNext} записывает номер тика и читает состояние без CAS. Обход колеса сначала
+ * переводит состояние в {@code TIMING_OUT}, а затем перечитывает номер тика (схема Деккера на
+ * volatile полях): если элемент успел прийти, таймаут отменяется, иначе {@code onNext},
+ * застав {@code TIMING_OUT}, дожидается решения и отбрасывает элемент.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ObservableWheelTimeout<T> extends Observable<T> {
+
+    private final ObservableSource<T> mSource;
+    private final TimeoutWheel mWheel;
+    private final long mTimeout;
+    private final TimeUnit mUnit;
+
+    public ObservableWheelTimeout(ObservableSource<T> source, TimeoutWheel wheel,
+                                  long timeout, TimeUnit unit) {
+        mSource = source;
+        mWheel = wheel;
+        mTimeout = timeout;
+        mUnit = unit;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        mSource.subscribe(new WheelTimeoutObserver<>(observer, mWheel, mTimeout, mUnit));
+    }
+
+    static final class WheelTimeoutObserver<T> extends TimeoutWheel.Watch
+            implements Observer<T>, Disposable {
+
+        private static final int ACTIVE = 0;
+        private static final int TIMING_OUT = 1;
+        private static final int TIMED_OUT = 2;
+        private static final int DONE = 3;
+
+        private final Observer<? super T> mDownstream;
+        private final long mTimeout;
+        private final TimeUnit mUnit;
+        private final AtomicInteger mState = new AtomicInteger();
+        private Disposable mUpstream;
+        private volatile boolean mDisposed;
+
+        WheelTimeoutObserver(Observer<? super T> downstream, TimeoutWheel wheel,
+                             long timeout, TimeUnit unit) {
+            super(wheel, timeout, unit);
+            mDownstream = downstream;
+            mTimeout = timeout;
+            mUnit = unit;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            mUpstream = d;
+            mDownstream.onSubscribe(this);
+            if (!mDisposed) {
+                start();
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            touch();
+            if (awaitState() != ACTIVE) {
+                return;
+            }
+            mDownstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (!finish()) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (finish()) {
+                mDownstream.onComplete();
+            }
+        }
+
+        @Override
+        protected boolean onExpired(long lastTick) {
+            if (mDisposed || !mState.compareAndSet(ACTIVE, TIMING_OUT)) {
+                return true;
+            }
+            if (getLastTick() != lastTick) {
+                mState.set(ACTIVE);
+                return false;
+            }
+            mState.set(TIMED_OUT);
+            mUpstream.dispose();
+            mDownstream.onError(new TimeoutException("The source did not signal an event for "
+                    + mUnit.toMillis(mTimeout) + " milliseconds and has been terminated."));
+            return true;
+        }
+
+        /**
+         * Состояние {@code TIMING_OUT} держится лишь пока обход перечитывает номер тика
+         */
+        private int awaitState() {
+            int state;
+            while ((state = mState.get()) == TIMING_OUT) {
+                Thread.yield();
+            }
+            return state;
+        }
+
+        private boolean finish() {
+            for (;;) {
+                int state = awaitState();
+                if (state != ACTIVE) {
+                    return false;
+                }
+                if (mState.compareAndSet(ACTIVE, DONE)) {
+                    cancel();
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            mDisposed = true;
+            cancel();
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+    }
+
+}
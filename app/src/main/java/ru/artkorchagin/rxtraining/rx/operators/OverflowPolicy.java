@@ -0,0 +1,50 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import ru.artkorchagin.rxtraining.metrics.BackpressureMetrics;
+
+/**
+ * Настройки перевода {@link Observable} в {@link Flowable} для медленного получателя: стратегия
+ * переполнения, размер очереди и метрики, общие для всех подписок через эту политику
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class OverflowPolicy {
+
+    private final OverflowStrategy mStrategy;
+    private final int mCapacity;
+    private final BackpressureMetrics mMetrics;
+
+    /**
+     * @param capacity количество элементов, которое хранится сверх запроса получателя
+     * @param metrics  метрики очереди, может быть {@code null}
+     * @see FlowableOnOverflow#FlowableOnOverflow
+     */
+    public OverflowPolicy(OverflowStrategy strategy, int capacity, BackpressureMetrics metrics) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity >= 0 required but it was " + capacity);
+        }
+        mStrategy = strategy;
+        mCapacity = capacity;
+        mMetrics = metrics;
+    }
+
+    public OverflowStrategy getStrategy() {
+        return mStrategy;
+    }
+
+    public int getCapacity() {
+        return mCapacity;
+    }
+
+    public BackpressureMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    public <T> Flowable<T> toFlowable(Observable<T> source) {
+        return new FlowableOnOverflow<>(source, mStrategy, mCapacity, mMetrics);
+    }
+
+}
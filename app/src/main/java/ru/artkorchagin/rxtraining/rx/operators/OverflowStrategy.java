@@ -0,0 +1,37 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+/**
+ * Поведение {@link FlowableOnOverflow} при заполненной очереди
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public enum OverflowStrategy {
+
+    /**
+     * Очередь ограниченного размера, при переполнении - ошибка
+     * {@link io.reactivex.exceptions.MissingBackpressureException}
+     */
+    BUFFER,
+
+    /**
+     * Очередь ограниченного размера, при переполнении отбрасывается самый старый элемент
+     */
+    DROP_OLDEST,
+
+    /**
+     * Очередь ограниченного размера, при переполнении отбрасывается новый элемент
+     */
+    DROP_NEWEST,
+
+    /**
+     * Хранится только последний элемент, размер очереди игнорируется
+     */
+    LATEST,
+
+    /**
+     * Без очереди: элемент без запроса получателя - ошибка
+     * {@link io.reactivex.exceptions.MissingBackpressureException}
+     */
+    ERROR
+}
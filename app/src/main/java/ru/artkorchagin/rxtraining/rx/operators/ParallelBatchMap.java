@@ -0,0 +1,109 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.reactivestreams.Publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableTransformer;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.parallel.ParallelFlowable;
+
+/**
+ * Параллельное преобразование элементов пакетами по {@code batchSize}. Пакет преобразуется
+ * целиком одной задачей на {@code scheduler}, поэтому накладные расходы на передачу между
+ * потоками приходятся на пакет, а не на каждый элемент.
+ * <ul>
+ * <li>без сохранения порядка пакеты распределяются по {@code parallelism} рельсам
+ * {@link ParallelFlowable}, каждый рельс заранее запрашивает {@code railPrefetch} пакетов, и
+ * результаты эммитятся по мере готовности;</li>
+ * <li>с сохранением порядка одновременно преобразуется до
+ * {@code parallelism * railPrefetch} пакетов, а результаты эммитятся в порядке пакетов.</li>
+ * </ul>
+ * На {@link Scheduler} поверх пула потоков с общей очередью (например,
+ * {@link io.reactivex.schedulers.Schedulers#from}) следующий пакет забирает освободившийся
+ * поток, поэтому неравномерные по стоимости пакеты не простаивают за медленным.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class ParallelBatchMap<T, R> implements FlowableTransformer<T, R> {
+
+    private final Function<? super T, ? extends R> mMapper;
+    private final Scheduler mScheduler;
+    private final int mParallelism;
+    private final int mBatchSize;
+    private final int mRailPrefetch;
+    private final boolean mOrdered;
+
+    public ParallelBatchMap(Function<? super T, ? extends R> mapper, Scheduler scheduler,
+                            int parallelism, int batchSize, int railPrefetch, boolean ordered) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize > 0 required but it was " + batchSize);
+        }
+        if (railPrefetch <= 0) {
+            throw new IllegalArgumentException("railPrefetch > 0 required but it was " + railPrefetch);
+        }
+        mMapper = mapper;
+        mScheduler = scheduler;
+        mParallelism = parallelism;
+        mBatchSize = batchSize;
+        mRailPrefetch = railPrefetch;
+        mOrdered = ordered;
+    }
+
+    @Override
+    public Publisher<R> apply(Flowable<T> upstream) {
+        Flowable<List<T>> batches = upstream.buffer(mBatchSize);
+        Flowable<List<R>> results;
+        if (mOrdered) {
+            results = batches.concatMapEager(new Function<List<T>, Publisher<List<R>>>() {
+                @Override
+                public Publisher<List<R>> apply(final List<T> batch) {
+                    return Flowable.fromCallable(new Callable<List<R>>() {
+                        @Override
+                        public List<R> call() throws Exception {
+                            return mapBatch(batch);
+                        }
+                    }).subscribeOn(mScheduler);
+                }
+            }, mParallelism * mRailPrefetch, 1);
+        } else {
+            results = batches
+                    .parallel(mParallelism, mRailPrefetch)
+                    .runOn(mScheduler, mRailPrefetch)
+                    .map(new Function<List<T>, List<R>>() {
+                        @Override
+                        public List<R> apply(List<T> batch) throws Exception {
+                            return mapBatch(batch);
+                        }
+                    })
+                    .sequential(mRailPrefetch);
+        }
+        return results.concatMapIterable(new Function<List<R>, Iterable<R>>() {
+            @Override
+            public Iterable<R> apply(List<R> batch) {
+                return batch;
+            }
+        }, mRailPrefetch);
+    }
+
+    private List<R> mapBatch(List<T> batch) throws Exception {
+        List<R> results = new ArrayList<>(batch.size());
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            R result = mMapper.apply(batch.get(i));
+            if (result == null) {
+                throw new NullPointerException("The mapper returned a null value");
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+}
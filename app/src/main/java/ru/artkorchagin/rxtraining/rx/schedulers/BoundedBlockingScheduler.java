@@ -0,0 +1,128 @@
+package ru.artkorchagin.rxtraining.rx.schedulers;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * {@link Scheduler} для блокирующих вызовов с ограниченным количеством потоков. В отличие от
+ * {@link Schedulers#io()}, который создаёт новый поток на каждую одновременную задачу, здесь
+ * одновременно выполняется не больше {@code maxThreads} задач, остальные ждут в очереди.
+ * Потоки создаются с уменьшенным стеком и завершаются после {@code keepAliveMills} простоя.
+ * <p>
+ * Потоки демоны, после использования планировщик нужно остановить через {@link #shutdown()}.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public final class BoundedBlockingScheduler extends Scheduler {
+
+    /** Размер стека потока по умолчанию (256 КБ) */
+    public static final long DEFAULT_STACK_SIZE = 256 * 1024;
+
+    private static final long DEFAULT_KEEP_ALIVE_MILLS = 60_000;
+
+    private final ThreadPoolExecutor mExecutor;
+    private final Scheduler mDelegate;
+
+    /**
+     * @param maxThreads максимальное количество одновременно выполняемых задач
+     */
+    public BoundedBlockingScheduler(int maxThreads) {
+        this(maxThreads, DEFAULT_STACK_SIZE, DEFAULT_KEEP_ALIVE_MILLS);
+    }
+
+    /**
+     * @param maxThreads     максимальное количество одновременно выполняемых задач
+     * @param stackSize      размер стека потока в байтах, 0 - размер по умолчанию платформы
+     * @param keepAliveMills время простоя в миллисекундах, после которого поток завершается
+     */
+    public BoundedBlockingScheduler(int maxThreads, long stackSize, long keepAliveMills) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("maxThreads > 0 required but it was " + maxThreads);
+        }
+        if (stackSize < 0) {
+            throw new IllegalArgumentException("stackSize >= 0 required but it was " + stackSize);
+        }
+        if (keepAliveMills <= 0) {
+            throw new IllegalArgumentException("keepAliveMills > 0 required but it was "
+                    + keepAliveMills);
+        }
+        mExecutor = new ThreadPoolExecutor(maxThreads, maxThreads, keepAliveMills,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                new BlockingThreadFactory(stackSize));
+        mExecutor.allowCoreThreadTimeOut(true);
+        mDelegate = Schedulers.from(mExecutor);
+    }
+
+    @Override
+    public Worker createWorker() {
+        return mDelegate.createWorker();
+    }
+
+    @Override
+    public Disposable scheduleDirect(Runnable run, long delay, TimeUnit unit) {
+        return mDelegate.scheduleDirect(run, delay, unit);
+    }
+
+    @Override
+    public Disposable schedulePeriodicallyDirect(Runnable run, long initialDelay, long period,
+                                                 TimeUnit unit) {
+        return mDelegate.schedulePeriodicallyDirect(run, initialDelay, period, unit);
+    }
+
+    public int getMaxThreads() {
+        return mExecutor.getMaximumPoolSize();
+    }
+
+    /**
+     * @return количество живых потоков
+     */
+    public int getThreadCount() {
+        return mExecutor.getPoolSize();
+    }
+
+    /**
+     * @return наибольшее количество потоков, которое было одновременно
+     */
+    public int getLargestThreadCount() {
+        return mExecutor.getLargestPoolSize();
+    }
+
+    /**
+     * @return количество задач, ожидающих свободного потока
+     */
+    public int getQueuedCount() {
+        return mExecutor.getQueue().size();
+    }
+
+    @Override
+    public void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    private static final class BlockingThreadFactory implements ThreadFactory {
+
+        private final long mStackSize;
+        private final AtomicInteger mCounter = new AtomicInteger();
+
+        BlockingThreadFactory(long stackSize) {
+            mStackSize = stackSize;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(null, runnable,
+                    "RxBoundedBlocking-" + mCounter.incrementAndGet(), mStackSize);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
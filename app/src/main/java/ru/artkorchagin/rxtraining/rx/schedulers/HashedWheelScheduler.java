@@ -0,0 +1,326 @@
+package ru.artkorchagin.rxtraining.rx.schedulers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * {@link Scheduler} на основе хешированного колеса таймеров (hashed wheel timer).
+ * <p>
+ * Все таймеры обслуживает один поток, который раз в {@code tickDuration} обрабатывает одну
+ * ячейку колеса. Постановка и отмена таймера выполняются за O(1) без блокировок: постановка
+ * кладёт задачу в неблокирующую очередь, отмена только помечает её. Точность срабатывания
+ * ограничена длительностью тика.
+ * <p>
+ * Периодические задачи отсчитываются от момента первого срабатывания
+ * ({@code first + n * period}), поэтому время выполнения задачи и задержки потока не
+ * накапливаются. Задачи выполняются на потоке колеса и должны быть короткими; задачи без
+ * задержки выполняются на ближайшем тике.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class HashedWheelScheduler extends Scheduler {
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    private final long mTickNanos;
+    private final Bucket[] mWheel;
+    private final int mMask;
+    private final Queue<TimerTask> mPending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mTimerCount = new AtomicInteger();
+    private final long mStartNanos;
+    private final Thread mTickThread;
+    private volatile boolean mShutdown;
+
+    /**
+     * Колесо из 512 ячеек с тиком в 1 миллисекунду
+     */
+    public HashedWheelScheduler() {
+        this(1, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * @param tickDuration  длительность тика (точность таймеров)
+     * @param unit          единица измерения {@code tickDuration}
+     * @param ticksPerWheel количество ячеек колеса, округляется вверх до степени двойки
+     */
+    public HashedWheelScheduler(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration > 0 required but it was " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel out of range: " + ticksPerWheel);
+        }
+        mTickNanos = unit.toNanos(tickDuration);
+        int wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        mWheel = new Bucket[Math.max(wheelSize, 1)];
+        for (int i = 0; i < mWheel.length; i++) {
+            mWheel[i] = new Bucket();
+        }
+        mMask = mWheel.length - 1;
+        mStartNanos = System.nanoTime();
+        mTickThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runWheel();
+            }
+        }, "RxHashedWheel-" + THREAD_INDEX.incrementAndGet());
+        mTickThread.setDaemon(true);
+        mTickThread.start();
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new WheelWorker(this);
+    }
+
+    @Override
+    public Disposable scheduleDirect(Runnable run, long delay, TimeUnit unit) {
+        return submit(new TimerTask(RxJavaPlugins.onSchedule(run), null), delay, 0, unit);
+    }
+
+    @Override
+    public Disposable schedulePeriodicallyDirect(Runnable run, long initialDelay, long period,
+                                                 TimeUnit unit) {
+        return submit(new TimerTask(RxJavaPlugins.onSchedule(run), null), initialDelay, period, unit);
+    }
+
+    /**
+     * Остановка потока колеса, незавершённые таймеры не сработают
+     */
+    @Override
+    public void shutdown() {
+        mShutdown = true;
+        LockSupport.unpark(mTickThread);
+    }
+
+    /**
+     * @return количество запланированных и ещё не сработавших (или периодических) таймеров
+     */
+    public int getTimerCount() {
+        return mTimerCount.get();
+    }
+
+    TimerTask submit(TimerTask task, long delay, long period, TimeUnit unit) {
+        if (mShutdown) {
+            task.dispose();
+            return task;
+        }
+        long now = System.nanoTime() - mStartNanos;
+        task.mDeadline = now + Math.max(0, unit.toNanos(delay));
+        task.mFirstDeadline = task.mDeadline;
+        task.mPeriod = Math.max(0, unit.toNanos(period));
+        mTimerCount.incrementAndGet();
+        mPending.offer(task);
+        return task;
+    }
+
+    private void runWheel() {
+        long tick = 0;
+        while (!mShutdown) {
+            long tickDeadline = mTickNanos * (tick + 1);
+            waitUntil(tickDeadline);
+            if (mShutdown) {
+                break;
+            }
+            transferPending(tick);
+            expire(mWheel[(int) (tick & mMask)], tick);
+            tick++;
+        }
+        mTimerCount.set(0);
+    }
+
+    /**
+     * Ожидание абсолютного момента относительно старта, поэтому тики не накапливают дрейф
+     */
+    private void waitUntil(long deadline) {
+        for (;;) {
+            long sleep = deadline - (System.nanoTime() - mStartNanos);
+            if (sleep <= 0 || mShutdown) {
+                return;
+            }
+            LockSupport.parkNanos(this, sleep);
+        }
+    }
+
+    private void transferPending(long currentTick) {
+        TimerTask task;
+        while ((task = mPending.poll()) != null) {
+            if (task.isDisposed()) {
+                mTimerCount.decrementAndGet();
+                continue;
+            }
+            long taskTick = (task.mDeadline + mTickNanos - 1) / mTickNanos - 1;
+            long ticks = Math.max(taskTick, currentTick);
+            task.mRemainingRounds = (ticks - currentTick) / mWheel.length;
+            mWheel[(int) (ticks & mMask)].add(task);
+        }
+    }
+
+    private void expire(Bucket bucket, long currentTick) {
+        TimerTask task = bucket.mHead;
+        while (task != null) {
+            TimerTask next = task.mNext;
+            if (task.isDisposed()) {
+                bucket.remove(task);
+                mTimerCount.decrementAndGet();
+            } else if (task.mRemainingRounds <= 0) {
+                bucket.remove(task);
+                run(task);
+            } else {
+                task.mRemainingRounds--;
+            }
+            task = next;
+        }
+    }
+
+    private void run(TimerTask task) {
+        try {
+            task.mRunnable.run();
+        } catch (Throwable e) {
+            task.dispose();
+            RxJavaPlugins.onError(e);
+        }
+        if (task.mPeriod > 0 && !task.isDisposed()) {
+            // Через очередь, а не сразу в колесо: иначе задача с периодом меньше тика
+            // сработала бы повторно в той же ячейке
+            task.mDeadline = task.mFirstDeadline + ++task.mPeriodCount * task.mPeriod;
+            mPending.offer(task);
+        } else {
+            mTimerCount.decrementAndGet();
+            task.complete();
+        }
+    }
+
+    /**
+     * Ячейка колеса: двусвязный список задач, доступен только потоку колеса
+     */
+    static final class Bucket {
+
+        TimerTask mHead;
+        TimerTask mTail;
+
+        void add(TimerTask task) {
+            task.mPrev = mTail;
+            task.mNext = null;
+            if (mTail == null) {
+                mHead = task;
+            } else {
+                mTail.mNext = task;
+            }
+            mTail = task;
+        }
+
+        void remove(TimerTask task) {
+            if (task.mPrev == null) {
+                mHead = task.mNext;
+            } else {
+                task.mPrev.mNext = task.mNext;
+            }
+            if (task.mNext == null) {
+                mTail = task.mPrev;
+            } else {
+                task.mNext.mPrev = task.mPrev;
+            }
+            task.mPrev = null;
+            task.mNext = null;
+        }
+    }
+
+    static final class TimerTask extends AtomicInteger implements Disposable {
+
+        private static final int WAITING = 0;
+        private static final int DISPOSED = 1;
+
+        final Runnable mRunnable;
+        final WheelWorker mWorker;
+
+        long mDeadline;
+        long mFirstDeadline;
+        long mPeriod;
+        long mPeriodCount;
+        long mRemainingRounds;
+        TimerTask mPrev;
+        TimerTask mNext;
+
+        TimerTask(Runnable runnable, WheelWorker worker) {
+            mRunnable = runnable;
+            mWorker = worker;
+        }
+
+        void complete() {
+            lazySet(DISPOSED);
+            finish();
+        }
+
+        void finish() {
+            if (mWorker != null) {
+                mWorker.mTasks.delete(this);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(WAITING, DISPOSED)) {
+                finish();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() == DISPOSED;
+        }
+    }
+
+    static final class WheelWorker extends Worker {
+
+        final CompositeDisposable mTasks = new CompositeDisposable();
+        private final HashedWheelScheduler mScheduler;
+
+        WheelWorker(HashedWheelScheduler scheduler) {
+            mScheduler = scheduler;
+        }
+
+        @Override
+        public Disposable schedule(Runnable run, long delay, TimeUnit unit) {
+            return schedule(run, delay, 0, unit);
+        }
+
+        @Override
+        public Disposable schedulePeriodically(Runnable run, long initialDelay, long period,
+                                              TimeUnit unit) {
+            return schedule(run, initialDelay, period, unit);
+        }
+
+        private Disposable schedule(Runnable run, long delay, long period, TimeUnit unit) {
+            if (mTasks.isDisposed()) {
+                return Disposables.disposed();
+            }
+            TimerTask task = new TimerTask(RxJavaPlugins.onSchedule(run), this);
+            if (!mTasks.add(task)) {
+                return Disposables.disposed();
+            }
+            return mScheduler.submit(task, delay, period, unit);
+        }
+
+        @Override
+        public void dispose() {
+            mTasks.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mTasks.isDisposed();
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package ru.artkorchagin.rxtraining.rx.schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Набор однопоточных {@link Scheduler} ("рельсов"). Ключ всегда попадает на один и тот же
+ * рельс, поэтому обработка одного ключа последовательна, а разные ключи распределяются по
+ * ядрам.
+ * <p>
+ * Потоки рельсов демоны, после использования их нужно остановить через {@link #shutdown()}.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class RailSchedulers {
+
+    private final ExecutorService[] mExecutors;
+    private final Scheduler[] mRails;
+
+    /**
+     * Рельсы по количеству доступных ядер
+     */
+    public RailSchedulers() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public RailSchedulers(int railCount) {
+        if (railCount <= 0) {
+            throw new IllegalArgumentException("railCount > 0 required but it was " + railCount);
+        }
+        mExecutors = new ExecutorService[railCount];
+        mRails = new Scheduler[railCount];
+        for (int i = 0; i < railCount; i++) {
+            mExecutors[i] = Executors.newSingleThreadExecutor(new RailThreadFactory(i));
+            mRails[i] = Schedulers.from(mExecutors[i]);
+        }
+    }
+
+    public int getRailCount() {
+        return mRails.length;
+    }
+
+    public Scheduler rail(int index) {
+        return mRails[index];
+    }
+
+    /**
+     * @return рельс, закреплённый за ключом {@code key}
+     */
+    public Scheduler railFor(Object key) {
+        return mRails[railIndex(key)];
+    }
+
+    public int railIndex(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % mRails.length;
+    }
+
+    public void shutdown() {
+        for (ExecutorService executor : mExecutors) {
+            executor.shutdown();
+        }
+    }
+
+    private static final class RailThreadFactory implements ThreadFactory {
+
+        private final int mIndex;
+
+        RailThreadFactory(int index) {
+            mIndex = index;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "RxRail-" + mIndex);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
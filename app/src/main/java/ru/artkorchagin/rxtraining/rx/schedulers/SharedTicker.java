@@ -0,0 +1,104 @@
+package ru.artkorchagin.rxtraining.rx.schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Общий периодический тик для многих слушателей. Вместо отдельной периодической задачи на
+ * каждого подписчика на {@link Scheduler} ставится одна задача, которая по очереди вызывает
+ * всех зарегистрированных слушателей.
+ * <p>
+ * Задача запускается при регистрации первого слушателя и отменяется после ухода последнего.
+ * Слушатели вызываются на потоке тика и должны отрабатывать быстро. Фаза тика общая, поэтому
+ * первый тик для нового слушателя может прийти раньше полного периода.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class SharedTicker {
+
+    private static final Listener[] EMPTY = new Listener[0];
+
+    private final Scheduler mScheduler;
+    private final long mPeriod;
+    private final TimeUnit mUnit;
+    private final Runnable mTick = new Runnable() {
+        @Override
+        public void run() {
+            tick();
+        }
+    };
+
+    private volatile Listener[] mListeners = EMPTY;
+    private Disposable mTask;
+
+    public SharedTicker(long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        mPeriod = period;
+        mUnit = unit;
+        mScheduler = scheduler;
+    }
+
+    public synchronized void register(Listener listener) {
+        Listener[] listeners = mListeners;
+        Listener[] updated = new Listener[listeners.length + 1];
+        System.arraycopy(listeners, 0, updated, 0, listeners.length);
+        updated[listeners.length] = listener;
+        mListeners = updated;
+        if (mTask == null) {
+            mTask = mScheduler.schedulePeriodicallyDirect(mTick, mPeriod, mPeriod, mUnit);
+        }
+    }
+
+    public synchronized void unregister(Listener listener) {
+        Listener[] listeners = mListeners;
+        int index = -1;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return;
+        }
+        if (listeners.length == 1) {
+            mListeners = EMPTY;
+            mTask.dispose();
+            mTask = null;
+            return;
+        }
+        Listener[] updated = new Listener[listeners.length - 1];
+        System.arraycopy(listeners, 0, updated, 0, index);
+        System.arraycopy(listeners, index + 1, updated, index, updated.length - index);
+        mListeners = updated;
+    }
+
+    public int getListenerCount() {
+        return mListeners.length;
+    }
+
+    private void tick() {
+        for (Listener listener : mListeners) {
+            try {
+                listener.onTick();
+            } catch (Throwable e) {
+                RxJavaPlugins.onError(e);
+            }
+        }
+    }
+
+    /**
+     * Слушатель общего тика
+     */
+    public interface Listener {
+
+        void onTick();
+    }
+
+}
@@ -0,0 +1,262 @@
+package ru.artkorchagin.rxtraining.rx.schedulers;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Общее грубое колесо таймаутов для многих потоков. Поток при каждом событии только
+ * записывает номер текущего тика в {@link Watch#touch()}, а одна периодическая задача на
+ * {@link Scheduler} раз в {@code precision} проходит по очередной ячейке колеса. Просроченные
+ * наблюдения получают {@link Watch#onExpired(long)}, остальные перекладываются в ячейку
+ * нового срока.
+ * <p>
+ * Таймаут срабатывает не раньше заданного времени и не позже чем через
+ * {@code timeout + 2 * precision}. Периодическая задача работает, пока есть хотя бы одно
+ * наблюдение.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class TimeoutWheel {
+
+    private final long mPrecisionNanos;
+    private final long mPrecision;
+    private final TimeUnit mUnit;
+    private final Scheduler mScheduler;
+    private final Bucket[] mWheel;
+    private final int mMask;
+    private final Queue<Watch> mPending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mWatchCount = new AtomicInteger();
+    private final Runnable mSweep = new Runnable() {
+        @Override
+        public void run() {
+            sweep();
+        }
+    };
+
+    private volatile long mCurrentTick;
+    private Disposable mTask;
+
+    /**
+     * @param precision точность таймаутов, период обхода колеса
+     * @param unit      единица измерения {@code precision}
+     * @param wheelSize количество ячеек колеса, округляется вверх до степени двойки
+     * @param scheduler планировщик обхода, срабатывания таймаутов приходят на нём
+     */
+    public TimeoutWheel(long precision, TimeUnit unit, int wheelSize, Scheduler scheduler) {
+        if (precision <= 0) {
+            throw new IllegalArgumentException("precision > 0 required but it was " + precision);
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+        }
+        mPrecision = precision;
+        mUnit = unit;
+        mPrecisionNanos = unit.toNanos(precision);
+        mScheduler = scheduler;
+        mWheel = new Bucket[Math.max(Integer.highestOneBit(wheelSize - 1) << 1, 1)];
+        for (int i = 0; i < mWheel.length; i++) {
+            mWheel[i] = new Bucket();
+        }
+        mMask = mWheel.length - 1;
+    }
+
+    /**
+     * @return количество активных наблюдений
+     */
+    public int getWatchCount() {
+        return mWatchCount.get();
+    }
+
+    long toTicks(long timeout, TimeUnit unit) {
+        long nanos = Math.max(0, unit.toNanos(timeout));
+        return Math.max(1, (nanos + mPrecisionNanos - 1) / mPrecisionNanos);
+    }
+
+    synchronized void register(Watch watch) {
+        mWatchCount.incrementAndGet();
+        mPending.offer(watch);
+        if (mTask == null) {
+            mTask = mScheduler.schedulePeriodicallyDirect(mSweep, mPrecision, mPrecision, mUnit);
+        }
+    }
+
+    private void sweep() {
+        long tick = mCurrentTick + 1;
+        mCurrentTick = tick;
+
+        Watch watch;
+        while ((watch = mPending.poll()) != null) {
+            if (watch.mCancelled) {
+                mWatchCount.decrementAndGet();
+            } else {
+                schedule(watch, watch.mLastTick + watch.mTimeoutTicks + 1, tick);
+            }
+        }
+
+        Bucket bucket = mWheel[(int) (tick & mMask)];
+        Watch last = bucket.mTail;
+        watch = bucket.mHead;
+        while (last != null) {
+            Watch next = watch.mNext;
+            boolean lastInBucket = watch == last;
+            expire(bucket, watch, tick);
+            if (lastInBucket) {
+                break;
+            }
+            watch = next;
+        }
+
+        if (mWatchCount.get() == 0) {
+            stopIfIdle();
+        }
+    }
+
+    private void expire(Bucket bucket, Watch watch, long tick) {
+        if (watch.mCancelled) {
+            bucket.remove(watch);
+            mWatchCount.decrementAndGet();
+            return;
+        }
+        if (watch.mRemainingRounds > 0) {
+            watch.mRemainingRounds--;
+            return;
+        }
+        bucket.remove(watch);
+        long lastTick = watch.mLastTick;
+        long deadline = lastTick + watch.mTimeoutTicks + 1;
+        if (deadline > tick) {
+            schedule(watch, deadline, tick);
+            return;
+        }
+        boolean expired;
+        try {
+            expired = watch.onExpired(lastTick);
+        } catch (Throwable e) {
+            expired = true;
+            RxJavaPlugins.onError(e);
+        }
+        if (expired) {
+            mWatchCount.decrementAndGet();
+        } else {
+            schedule(watch, watch.mLastTick + watch.mTimeoutTicks + 1, tick);
+        }
+    }
+
+    /**
+     * Новые и перенесённые наблюдения попадают в текущую ячейку только до её обхода, поэтому
+     * сроки в прошлом сдвигаются на текущий тик
+     */
+    private void schedule(Watch watch, long deadline, long tick) {
+        long ticks = Math.max(deadline, tick);
+        watch.mRemainingRounds = (ticks - tick) / mWheel.length;
+        mWheel[(int) (ticks & mMask)].add(watch);
+    }
+
+    private synchronized void stopIfIdle() {
+        if (mWatchCount.get() == 0 && mTask != null) {
+            mTask.dispose();
+            mTask = null;
+        }
+    }
+
+    /**
+     * Наблюдение за одним потоком. Потоки событий вызывают только {@link #touch()}, остальные
+     * поля использует лишь обход колеса
+     */
+    public abstract static class Watch {
+
+        private final TimeoutWheel mWheel;
+        private final long mTimeoutTicks;
+        private volatile long mLastTick;
+        private volatile boolean mCancelled;
+        private long mRemainingRounds;
+        private Watch mPrev;
+        private Watch mNext;
+
+        protected Watch(TimeoutWheel wheel, long timeout, TimeUnit unit) {
+            mWheel = wheel;
+            mTimeoutTicks = wheel.toTicks(timeout, unit);
+        }
+
+        /**
+         * Начало наблюдения, отсчёт таймаута идёт с момента вызова
+         */
+        public final void start() {
+            touch();
+            mWheel.register(this);
+        }
+
+        /**
+         * Отметка события: одна volatile запись номера текущего тика
+         */
+        public final void touch() {
+            mLastTick = mWheel.mCurrentTick;
+        }
+
+        /**
+         * @return номер тика последнего события
+         */
+        public final long getLastTick() {
+            return mLastTick;
+        }
+
+        /**
+         * Остановка наблюдения, удаление из колеса происходит при ближайшем обходе ячейки
+         */
+        public final void cancel() {
+            mCancelled = true;
+        }
+
+        /**
+         * Вызывается на потоке обхода, когда с тика {@code lastTick} не было событий дольше
+         * таймаута
+         *
+         * @return {@code true}, если наблюдение завершено, {@code false}, если событие успело
+         * прийти и наблюдение нужно продолжить
+         */
+        protected abstract boolean onExpired(long lastTick);
+    }
+
+    /**
+     * Ячейка колеса: двусвязный список наблюдений, доступен только потоку обхода
+     */
+    static final class Bucket {
+
+        Watch mHead;
+        Watch mTail;
+
+        void add(Watch watch) {
+            watch.mPrev = mTail;
+            watch.mNext = null;
+            if (mTail == null) {
+                mHead = watch;
+            } else {
+                mTail.mNext = watch;
+            }
+            mTail = watch;
+        }
+
+        void remove(Watch watch) {
+            if (watch.mPrev == null) {
+                mHead = watch.mNext;
+            } else {
+                watch.mPrev.mNext = watch.mNext;
+            }
+            if (watch.mNext == null) {
+                mTail = watch.mPrev;
+            } else {
+                watch.mNext.mPrev = watch.mPrev;
+            }
+            watch.mPrev = null;
+            watch.mNext = null;
+        }
+    }
+
+}
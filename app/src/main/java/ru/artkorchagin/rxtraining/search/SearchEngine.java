@@ -0,0 +1,193 @@
+package ru.artkorchagin.rxtraining.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.BiFunction;
+import io.reactivex.functions.BiPredicate;
+import io.reactivex.functions.Function;
+import ru.artkorchagin.rxtraining.cache.LruCache;
+
+/**
+ * Поиск по вводимой строке и выбранной категории.
+ * <ul>
+ * <li>поисковые строки проходят через {@code debounce}, поэтому поиск запускается только после
+ * паузы во вводе;</li>
+ * <li>новый запрос отменяет ещё не завершённый предыдущий ({@code switchMap});</li>
+ * <li>поиск выполняется на отдельном {@link Scheduler}, а не на потоке ввода;</li>
+ * <li>результаты кэшируются по паре (строка, категория);</li>
+ * <li>если в кэше есть результат для префикса строки, то он фильтруется через
+ * {@code itemMatcher} вместо нового поиска.</li>
+ * </ul>
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class SearchEngine {
+
+    private final long mDebounceMills;
+    private final Scheduler mSearchScheduler;
+    private final Scheduler mDebounceScheduler;
+    private final BiFunction<String, Integer, List<String>> mSearch;
+    private final BiPredicate<String, String> mItemMatcher;
+    private final LruCache<SearchKey, List<String>> mCache;
+
+    private final AtomicLong mSearchCount = new AtomicLong();
+    private final AtomicLong mCacheHitCount = new AtomicLong();
+    private final AtomicLong mPrefixHitCount = new AtomicLong();
+
+    /**
+     * @param debounceMills     пауза во вводе в миллисекундах, после которой запускается поиск
+     * @param cacheSize         количество кэшируемых результатов
+     * @param searchScheduler   {@link Scheduler} для выполнения поиска
+     * @param debounceScheduler {@link Scheduler}, по времени которого отсчитывается
+     *                          {@code debounceMills}
+     * @param search            синхронный поиск по строке и категории
+     * @param itemMatcher       проверка (элемент, строка поиска), совпадающая с критерием
+     *                          {@code search}; {@code null} отключает переиспользование
+     *                          префиксов
+     */
+    public SearchEngine(long debounceMills, int cacheSize, Scheduler searchScheduler,
+                        Scheduler debounceScheduler,
+                        BiFunction<String, Integer, List<String>> search,
+                        BiPredicate<String, String> itemMatcher) {
+        mDebounceMills = debounceMills;
+        mSearchScheduler = searchScheduler;
+        mDebounceScheduler = debounceScheduler;
+        mSearch = search;
+        mItemMatcher = itemMatcher;
+        mCache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * @param searchObservable   последовательность поисковых строк
+     * @param categoryObservable последовательность категорий
+     * @return {@link Observable} который эммитит результаты поиска для последней строки и
+     * последней категории
+     */
+    public Observable<List<String>> results(Observable<String> searchObservable,
+                                            Observable<Integer> categoryObservable) {
+        return Observable
+                .combineLatest(
+                        searchObservable.debounce(mDebounceMills, TimeUnit.MILLISECONDS, mDebounceScheduler),
+                        categoryObservable,
+                        new BiFunction<String, Integer, SearchKey>() {
+                            @Override
+                            public SearchKey apply(String query, Integer categoryId) {
+                                return new SearchKey(query, categoryId);
+                            }
+                        })
+                .distinctUntilChanged()
+                .switchMap(new Function<SearchKey, ObservableSource<List<String>>>() {
+                    @Override
+                    public ObservableSource<List<String>> apply(final SearchKey key) {
+                        return Observable
+                                .fromCallable(new Callable<List<String>>() {
+                                    @Override
+                                    public List<String> call() throws Exception {
+                                        return find(key);
+                                    }
+                                })
+                                .subscribeOn(mSearchScheduler);
+                    }
+                });
+    }
+
+    private List<String> find(SearchKey key) throws Exception {
+        List<String> cached = mCache.get(key);
+        if (cached != null) {
+            mCacheHitCount.incrementAndGet();
+            return cached;
+        }
+        List<String> result = filterPrefixResult(key);
+        if (result != null) {
+            mPrefixHitCount.incrementAndGet();
+        } else {
+            mSearchCount.incrementAndGet();
+            result = mSearch.apply(key.query, key.categoryId);
+        }
+        mCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * @return отфильтрованный результат самого длинного закэшированного префикса, либо
+     * {@code null} если такого нет
+     */
+    private List<String> filterPrefixResult(SearchKey key) throws Exception {
+        if (mItemMatcher == null) {
+            return null;
+        }
+        for (int length = key.query.length() - 1; length >= 0; length--) {
+            List<String> prefixResult = mCache.get(new SearchKey(key.query.substring(0, length), key.categoryId));
+            if (prefixResult != null) {
+                List<String> result = new ArrayList<>();
+                for (String item : prefixResult) {
+                    if (mItemMatcher.test(item, key.query)) {
+                        result.add(item);
+                    }
+                }
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return количество выполненных поисков
+     */
+    public long getSearchCount() {
+        return mSearchCount.get();
+    }
+
+    /**
+     * @return количество запросов, результат которых был в кэше
+     */
+    public long getCacheHitCount() {
+        return mCacheHitCount.get();
+    }
+
+    /**
+     * @return количество запросов, результат которых получен фильтрацией результата префикса
+     */
+    public long getPrefixHitCount() {
+        return mPrefixHitCount.get();
+    }
+
+    static final class SearchKey {
+
+        final String query;
+        final int categoryId;
+
+        SearchKey(String query, int categoryId) {
+            this.query = query;
+            this.categoryId = categoryId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            SearchKey searchKey = (SearchKey) o;
+
+            return categoryId == searchKey.categoryId && query.equals(searchKey.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + categoryId;
+        }
+    }
+
+}
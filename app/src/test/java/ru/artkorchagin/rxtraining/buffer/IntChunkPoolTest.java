@@ -0,0 +1,66 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntChunkPoolTest {
+
+    @Test
+    public void acquire_reusesReleasedChunk() {
+        IntChunkPool pool = new IntChunkPool(3, 1, true);
+
+        IntChunk chunk = pool.acquire();
+        assertFalse(chunk.put(1));
+        chunk.release();
+        IntChunk reused = pool.acquire();
+
+        assertSame(chunk, reused);
+        assertTrue(reused.isEmpty());
+        assertEquals(1, pool.getAllocatedCount());
+    }
+
+    @Test
+    public void release_dropsChunksAboveLimit() {
+        IntChunkPool pool = new IntChunkPool(3, 1, false);
+
+        IntChunk first = pool.acquire();
+        IntChunk second = pool.acquire();
+        first.release();
+        second.release();
+
+        assertEquals(1, pool.getPooledCount());
+        assertEquals(2, pool.getAllocatedCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void release_twice() {
+        IntChunk chunk = new IntChunkPool(3, 1, false).acquire();
+        chunk.release();
+        chunk.release();
+    }
+
+    @Test
+    public void asReadOnlyBuffer() {
+        IntChunk chunk = new IntChunkPool(3, 1, true).acquire();
+        chunk.put(4);
+        assertFalse(chunk.put(5));
+        assertTrue(chunk.put(6));
+
+        IntBuffer buffer = chunk.asReadOnlyBuffer();
+
+        assertEquals(3, buffer.remaining());
+        assertEquals(5, buffer.get(1));
+        assertEquals(6, chunk.get(2));
+    }
+
+}
@@ -0,0 +1,76 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntDecimalTest {
+
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    @Test
+    public void write_matchesToString() {
+        int[] values = {0, 1, -1, 9, 10, 99, 100, -100, 12345, 999999999, 1000000000,
+                Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1};
+        for (int value : values) {
+            assertWritten(value);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            assertWritten(random.nextInt());
+        }
+    }
+
+    @Test
+    public void write_directBufferAtPosition() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        buffer.put((byte) 'x');
+        IntDecimal.write(-42, buffer);
+        IntDecimal.write(7, buffer);
+
+        buffer.flip();
+        assertEquals("x-427", US_ASCII.decode(buffer).toString());
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void write_overflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        IntDecimal.write(1234, buffer);
+    }
+
+    @Test
+    public void stringCache() {
+        IntStringCache cache = new IntStringCache(-10, 1000);
+
+        assertSame(cache.get(500), cache.get(500));
+        assertEquals("-10", cache.get(-10));
+        assertEquals("1000", cache.get(1000));
+        assertTrue(cache.contains(0));
+        assertFalse(cache.contains(1001));
+        assertEquals("1001", cache.get(1001));
+        assertNotSame(cache.get(1001), cache.get(1001));
+    }
+
+    private static void assertWritten(int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(IntDecimal.MAX_LENGTH);
+        IntDecimal.write(value, buffer);
+
+        assertEquals(IntDecimal.length(value), buffer.position());
+        buffer.flip();
+        assertEquals(String.valueOf(value), US_ASCII.decode(buffer).toString());
+    }
+
+}
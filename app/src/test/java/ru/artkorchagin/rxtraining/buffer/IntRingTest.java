@@ -0,0 +1,57 @@
+package ru.artkorchagin.rxtraining.buffer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntRingTest {
+
+    @Test
+    public void heapRing_keepsLastValues() {
+        assertKeepsLastValues(new HeapIntRing(100));
+    }
+
+    @Test
+    public void mappedRing_keepsLastValues() throws IOException {
+        assertKeepsLastValues(new MappedIntRing(100, null));
+    }
+
+    @Test
+    public void heapRing_notFull() {
+        IntRing ring = new HeapIntRing(1000);
+        for (int i = 0; i < 20; i++) {
+            ring.add(i);
+        }
+
+        assertEquals(20, ring.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, ring.get(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_outOfSize() {
+        IntRing ring = new HeapIntRing(10);
+        ring.add(1);
+        ring.get(1);
+    }
+
+    private static void assertKeepsLastValues(IntRing ring) {
+        for (int i = 0; i < 1050; i++) {
+            ring.add(i - 500);
+        }
+
+        assertEquals(100, ring.size());
+        assertEquals(100, ring.capacity());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(450 + i, ring.get(i));
+        }
+    }
+
+}
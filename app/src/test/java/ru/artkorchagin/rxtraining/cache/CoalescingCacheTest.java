@@ -0,0 +1,150 @@
+package ru.artkorchagin.rxtraining.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Observable;
+import io.reactivex.functions.Function;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class CoalescingCacheTest {
+
+    private TestScheduler mTestScheduler;
+    private AtomicInteger mLoadCount;
+    private PublishSubject<String> mResponse;
+
+    @Before
+    public void setUp() {
+        mTestScheduler = new TestScheduler();
+        mLoadCount = new AtomicInteger();
+        mResponse = PublishSubject.create();
+    }
+
+    private CoalescingCache<Integer, String> createCache(int maxSize, final boolean async) {
+        return new CoalescingCache<>(maxSize, 1, TimeUnit.MINUTES, mTestScheduler,
+                new Function<Integer, Observable<String>>() {
+                    @Override
+                    public Observable<String> apply(Integer key) {
+                        mLoadCount.incrementAndGet();
+                        return async ? mResponse.take(1) : Observable.just("value" + key);
+                    }
+                });
+    }
+
+    @Test
+    public void get_hitBeforeTtl() {
+        CoalescingCache<Integer, String> cache = createCache(10, false);
+
+        cache.get(1).test().assertValues("value1");
+        mTestScheduler.advanceTimeBy(30, TimeUnit.SECONDS);
+        cache.get(1).test().assertValues("value1");
+
+        assertEquals(1, mLoadCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void get_reloadAfterTtl() {
+        CoalescingCache<Integer, String> cache = createCache(10, false);
+
+        cache.get(1).test().assertValues("value1");
+        mTestScheduler.advanceTimeBy(2, TimeUnit.MINUTES);
+        cache.get(1).test().assertValues("value1");
+
+        assertEquals(2, mLoadCount.get());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void get_evictsLeastRecentlyUsed() {
+        CoalescingCache<Integer, String> cache = createCache(2, false);
+
+        cache.get(1).test();
+        cache.get(2).test();
+        cache.get(1).test();
+        cache.get(3).test();
+        cache.get(1).test();
+        cache.get(2).test();
+
+        assertEquals(2, cache.size());
+        assertEquals(4, mLoadCount.get());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void get_coalescesInFlightRequests() {
+        CoalescingCache<Integer, String> cache = createCache(10, true);
+
+        TestObserver<String> first = cache.get(1).test();
+        TestObserver<String> second = cache.get(1).test();
+        first.assertNoValues();
+        mResponse.onNext("response");
+
+        first.assertValues("response");
+        first.assertComplete();
+        second.assertValues("response");
+        second.assertComplete();
+        assertEquals(1, mLoadCount.get());
+        assertEquals(1, cache.getCoalesceCount());
+
+        cache.get(1).test().assertValues("response");
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void get_errorIsNotCached() {
+        CoalescingCache<Integer, String> cache = createCache(10, true);
+
+        cache.get(1).test();
+        mResponse.onError(new IllegalStateException());
+        mResponse = PublishSubject.create();
+        TestObserver<String> retry = cache.get(1).test();
+        mResponse.onNext("response");
+
+        retry.assertValues("response");
+        assertEquals(2, mLoadCount.get());
+    }
+
+    @Test
+    public void invalidate_dropsInFlightResult() {
+        CoalescingCache<Integer, String> cache = createCache(10, true);
+
+        TestObserver<String> stale = cache.get(1).test();
+        cache.invalidate(1);
+        mResponse.onNext("stale");
+
+        stale.assertResult("stale");
+        assertEquals(0, cache.size());
+        cache.get(1).test();
+        assertEquals(2, mLoadCount.get());
+    }
+
+    @Test
+    public void clear_dropsInFlightResult() {
+        CoalescingCache<Integer, String> cache = createCache(10, true);
+
+        cache.get(1).test();
+        cache.clear();
+        TestObserver<String> fresh = cache.get(1).test();
+        mResponse.onNext("value");
+
+        fresh.assertResult("value");
+        assertEquals(1, cache.size());
+        assertEquals(2, mLoadCount.get());
+        cache.get(1).test().assertResult("value");
+        assertEquals(1, cache.getHitCount());
+    }
+}
@@ -0,0 +1,80 @@
+package ru.artkorchagin.rxtraining.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.schedulers.TestScheduler;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class RefreshableValueTest {
+
+    private TestScheduler mTestScheduler;
+    private AtomicInteger mLoadCount;
+    private volatile boolean mFail;
+    private RefreshableValue<Integer> mValue;
+
+    @Before
+    public void setUp() {
+        mTestScheduler = new TestScheduler();
+        mLoadCount = new AtomicInteger();
+        mValue = new RefreshableValue<>(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                int load = mLoadCount.incrementAndGet();
+                if (mFail) {
+                    throw new ExpectedException();
+                }
+                return load;
+            }
+        }, 1, TimeUnit.SECONDS, mTestScheduler);
+    }
+
+    @Test
+    public void refreshError_keepsStaleValue() {
+        mValue.get().test().assertResult(1);
+        mTestScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        mFail = true;
+        mValue.get().test().assertResult(1);
+        mTestScheduler.triggerActions();
+        mValue.get().test().assertResult(1);
+
+        mFail = false;
+        mTestScheduler.triggerActions();
+        mValue.get().test().assertResult(3);
+    }
+
+    @Test
+    public void invalidate_discardsRunningRefresh() {
+        mValue.get().test().assertResult(1);
+        mTestScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        mValue.get().test().assertResult(1);
+
+        mValue.invalidate();
+        mValue.get().test().assertResult(2);
+        mTestScheduler.triggerActions();
+
+        assertEquals(3, mLoadCount.get());
+        mValue.get().test().assertResult(2);
+    }
+
+    @Test
+    public void initialLoadError_isNotCached() {
+        mFail = true;
+        mValue.get().test().assertError(ExpectedException.class);
+
+        mFail = false;
+        mValue.get().test().assertResult(2);
+    }
+
+}
@@ -0,0 +1,91 @@
+package ru.artkorchagin.rxtraining.distinct;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntDistinctFilterTest {
+
+    @Test
+    public void boundedIntHashSet_resetsAtCapacity() {
+        BoundedIntHashSet distinctFilter = new BoundedIntHashSet(3);
+        long footprint = distinctFilter.getMemoryFootprint();
+
+        assertTrue(distinctFilter.add(1));
+        assertTrue(distinctFilter.add(2));
+        assertTrue(distinctFilter.add(3));
+        assertFalse(distinctFilter.add(1));
+        assertTrue(distinctFilter.add(4));
+
+        assertEquals(1, distinctFilter.getResetCount());
+        assertEquals(1, distinctFilter.size());
+        assertTrue(distinctFilter.add(1));
+        assertEquals(footprint, distinctFilter.getMemoryFootprint());
+    }
+
+    @Test
+    public void boundedIntHashSet_collidingValues() {
+        BoundedIntHashSet distinctFilter = new BoundedIntHashSet(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(distinctFilter.add(i << 16));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(distinctFilter.add(i << 16));
+        }
+        assertEquals(0, distinctFilter.getResetCount());
+    }
+
+    @Test
+    public void intBloomFilter_falsePositiveRate() {
+        int insertions = 10_000;
+        IntBloomFilter distinctFilter = new IntBloomFilter(insertions, 0.01);
+
+        for (int i = 0; i < insertions; i++) {
+            distinctFilter.add(i);
+        }
+        for (int i = 0; i < insertions; i++) {
+            assertFalse(distinctFilter.add(i));
+        }
+        int probes = 1000;
+        int falsePositives = 0;
+        for (int i = insertions; i < insertions + probes; i++) {
+            if (!distinctFilter.add(i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue("false positives: " + falsePositives, falsePositives < probes * 0.03);
+        // ~9.6 бит на элемент при 1%
+        assertTrue(distinctFilter.getMemoryFootprint() < insertions * 2);
+    }
+
+    @Test
+    public void expiringIntSet_evictsOldestAboveMaxSize() {
+        ExpiringIntSet distinctFilter = new ExpiringIntSet(1, TimeUnit.MINUTES, 2, new TestScheduler());
+
+        assertTrue(distinctFilter.add(1));
+        assertTrue(distinctFilter.add(2));
+        assertTrue(distinctFilter.add(3));
+
+        assertEquals(2, distinctFilter.size());
+        assertTrue(distinctFilter.add(1));
+        assertFalse(distinctFilter.add(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expiringIntSet_invalidMaxSize() {
+        new ExpiringIntSet(1, TimeUnit.MINUTES, 0, new TestScheduler());
+    }
+
+}
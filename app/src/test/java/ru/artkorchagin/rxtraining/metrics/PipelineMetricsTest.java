@@ -0,0 +1,113 @@
+package ru.artkorchagin.rxtraining.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.TestScheduler;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class PipelineMetricsTest {
+
+    @Test
+    public void observable() {
+        PipelineMetrics metrics = new PipelineMetrics("observable");
+
+        Observable.range(0, 100).compose(metrics.<Integer>observable()).test().assertComplete();
+        Observable.<Integer>error(new ExpectedException())
+                .compose(metrics.<Integer>observable())
+                .test()
+                .assertError(ExpectedException.class);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getSubscriptionCount());
+        assertEquals(100, snapshot.getItemCount());
+        assertEquals(1, snapshot.getCompletionCount());
+        assertEquals(1, snapshot.getErrorCount());
+        assertEquals(1, snapshot.getTimeToFirstItem().getCount());
+        assertEquals(99, snapshot.getInterItemLatency().getCount());
+        assertTrue(snapshot.getItemsPerSecond() > 0);
+    }
+
+    @Test
+    public void singleMaybeCompletable() {
+        PipelineMetrics metrics = new PipelineMetrics("reactive types");
+
+        Single.just(1).compose(metrics.<Integer>single()).test().assertResult(1);
+        Maybe.<Integer>empty().compose(metrics.<Integer>maybe()).test().assertResult();
+        Completable.complete().compose(metrics.completable()).test().assertComplete();
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.getSubscriptionCount());
+        assertEquals(1, snapshot.getItemCount());
+        assertEquals(3, snapshot.getCompletionCount());
+    }
+
+    @Test
+    public void queueDepth() {
+        PipelineMetrics metrics = new PipelineMetrics("boundary");
+        TestScheduler testScheduler = new TestScheduler();
+
+        Observable.range(0, 10)
+                .compose(metrics.<Integer>enterBoundary())
+                .observeOn(testScheduler)
+                .compose(metrics.<Integer>exitBoundary())
+                .test();
+
+        assertEquals(10, metrics.snapshot().getQueueDepth());
+        testScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(0, metrics.snapshot().getQueueDepth());
+        assertEquals(10, metrics.snapshot().getMaxQueueDepth());
+    }
+
+    @Test
+    public void registry() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        assertSame(registry.get("a"), registry.get("a"));
+        registry.get("b");
+        assertEquals(2, registry.snapshots().size());
+    }
+
+    @Test
+    public void latencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertPercentile(500_000, snapshot.getValueAtPercentile(50));
+        assertPercentile(990_000, snapshot.getValueAtPercentile(99));
+        assertEquals(1_000_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void latencyHistogram_bucketBounds() {
+        for (long value : new long[]{0, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.highestValueOf(index));
+            assertTrue(index == 0 || value > LatencyHistogram.highestValueOf(index - 1));
+        }
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected * 0.04);
+    }
+
+}
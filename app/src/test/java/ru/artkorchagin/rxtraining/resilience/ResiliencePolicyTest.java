@@ -0,0 +1,128 @@
+package ru.artkorchagin.rxtraining.resilience;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import ru.artkorchagin.rxtraining.exceptions.CircuitBreakerOpenException;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class ResiliencePolicyTest {
+
+    private TestScheduler mTestScheduler;
+    private AtomicInteger mCallCount;
+    private Observable<Integer> mFailing;
+
+    @Before
+    public void setUp() {
+        mTestScheduler = new TestScheduler();
+        mCallCount = new AtomicInteger();
+        mFailing = Observable.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                mCallCount.incrementAndGet();
+                throw new ExpectedException();
+            }
+        });
+    }
+
+    @Test
+    public void backoff_growsExponentiallyWithinBounds() {
+        ExponentialBackoff backoff = new ExponentialBackoff(10, 100, TimeUnit.MILLISECONDS,
+                new Random(1));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), backoff.maxDelayNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(40), backoff.maxDelayNanos(3));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), backoff.maxDelayNanos(5));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), backoff.maxDelayNanos(1000));
+        for (int attempt = 1; attempt < 100; attempt++) {
+            long delay = backoff.delayNanos(attempt);
+            assertTrue(delay >= 0 && delay <= backoff.maxDelayNanos(attempt));
+        }
+    }
+
+    @Test
+    public void retries_onRetryScheduler() {
+        ResiliencePolicy policy = new ResiliencePolicy(3,
+                new ExponentialBackoff(10, 100, TimeUnit.MILLISECONDS), null, null, mTestScheduler);
+
+        TestObserver<Integer> testObserver = mFailing.compose(policy.<Integer>observable()).test();
+        assertEquals(1, mCallCount.get());
+        testObserver.assertNotTerminated();
+
+        mTestScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        testObserver.assertFailure(ExpectedException.class);
+        assertEquals(4, mCallCount.get());
+    }
+
+    @Test
+    public void retryBudget_sharedAcrossSubscriptions() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        ResiliencePolicy policy = new ResiliencePolicy(5,
+                new ExponentialBackoff(1, 1, TimeUnit.MILLISECONDS), budget, null, mTestScheduler);
+
+        Observable<Integer> observable = mFailing.compose(policy.<Integer>observable());
+        for (int i = 0; i < 4; i++) {
+            observable.test();
+            mTestScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        }
+
+        // 4 первых вызова, 2 повтора на начальные токены (пополнение полного бюджета теряется)
+        // и 1 повтор на 2 пополнения по 0.5 из оставшихся трёх подписок
+        assertEquals(4 + 2 + 1, mCallCount.get());
+        assertTrue(budget.getBalance() < 1);
+    }
+
+    @Test
+    public void circuitBreaker_failsFast() {
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 4, 4, 10, TimeUnit.SECONDS, mTestScheduler);
+        ResiliencePolicy policy = new ResiliencePolicy(0,
+                new ExponentialBackoff(1, 1, TimeUnit.MILLISECONDS), null, breaker, mTestScheduler);
+        Observable<Integer> observable = mFailing.compose(policy.<Integer>observable());
+
+        for (int i = 0; i < 4; i++) {
+            observable.test().assertFailure(ExpectedException.class);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        observable.test().assertFailure(CircuitBreakerOpenException.class);
+        assertEquals(4, mCallCount.get());
+
+        mTestScheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        Single.just(1).compose(policy.<Integer>single()).test().assertResult(1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void circuitBreaker_halfOpenAllowsSingleTrial() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 2, 1, 1, TimeUnit.SECONDS, mTestScheduler);
+        assertTrue(breaker.tryAcquire());
+        breaker.onError();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        mTestScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(!breaker.tryAcquire());
+        breaker.onCancel();
+        assertTrue(breaker.tryAcquire());
+        breaker.onError();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+}
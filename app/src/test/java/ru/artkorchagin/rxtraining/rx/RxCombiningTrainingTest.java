@@ -6,17 +6,32 @@ import org.mockito.Mockito;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.Scheduler;
+import io.reactivex.functions.BiPredicate;
+import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.observers.TestObserver;
 import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
 import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subscribers.TestSubscriber;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+import ru.artkorchagin.rxtraining.search.SearchEngine;
 
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -40,6 +55,12 @@ public class RxCombiningTrainingTest {
                 return mTestScheduler;
             }
         });
+        RxJavaPlugins.setIoSchedulerHandler(new Function<Scheduler, Scheduler>() {
+            @Override
+            public Scheduler apply(Scheduler scheduler) {
+                return Schedulers.trampoline();
+            }
+        });
     }
 
     @Test
@@ -163,4 +184,100 @@ public class RxCombiningTrainingTest {
         testObserver.assertComplete();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void summation_flowable() {
+        TestSubscriber<Integer> testSubscriber = mRxCombiningTraining.summation(2,
+                Flowable.fromArray(1, 2, 3, 4, 5),
+                Flowable.fromArray(10, 20, 30, 40, 50, 60)
+        )
+                .test();
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertComplete();
+        testSubscriber.assertValues(11, 22, 33, 44, 55);
+    }
+
+    @Test
+    public void summation_flowableError() {
+        TestSubscriber<Integer> testSubscriber = mRxCombiningTraining.summation(2,
+                Flowable.fromArray(1, 2, 3),
+                Flowable.fromArray(10, 20).concatWith(Flowable.<Integer>error(new ExpectedException()))
+        )
+                .test();
+
+        testSubscriber.assertNotComplete();
+        testSubscriber.assertValues(11, 22);
+        testSubscriber.assertError(ExpectedException.class);
+    }
+
+    @Test
+    public void summation_flowableBackpressure() {
+        final int prefetch = 16;
+        final AtomicLong fastEmitted = new AtomicLong();
+
+        TestSubscriber<Integer> testSubscriber = mRxCombiningTraining.summation(prefetch,
+                Flowable.range(0, 1_000_000).doOnNext(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer integer) {
+                        fastEmitted.incrementAndGet();
+                    }
+                }),
+                Flowable.range(0, 1_000_000).take(3)
+        )
+                .test(0);
+
+        testSubscriber.assertNoValues();
+        assertTrue(fastEmitted.get() <= prefetch);
+
+        testSubscriber.request(2);
+        testSubscriber.assertValues(0, 2);
+        assertTrue(fastEmitted.get() <= prefetch);
+
+        testSubscriber.request(Long.MAX_VALUE);
+        testSubscriber.assertValues(0, 2, 4);
+        testSubscriber.assertComplete();
+        assertTrue(fastEmitted.get() <= prefetch * 2);
+    }
+
+    @Test
+    public void requestItems_searchEngine() {
+        final long debounceMills = 300;
+        PublishSubject<String> searchSubject = PublishSubject.create();
+        BehaviorSubject<Integer> categorySubject = BehaviorSubject.createDefault(1);
+        doReturn(asList("abc", "abd", "xab")).when(mRxCombiningTraining).searchItems("ab", 1);
+
+        SearchEngine searchEngine = mRxCombiningTraining.createSearchEngine(debounceMills, 10,
+                new BiPredicate<String, String>() {
+                    @Override
+                    public boolean test(String item, String searchString) {
+                        return item.contains(searchString);
+                    }
+                });
+        TestObserver<List<String>> testObserver = mRxCombiningTraining
+                .requestItems(searchEngine, searchSubject, categorySubject)
+                .test();
+
+        searchSubject.onNext("a");
+        mTestScheduler.advanceTimeBy(debounceMills / 2, TimeUnit.MILLISECONDS);
+        searchSubject.onNext("ab");
+        mTestScheduler.advanceTimeBy(debounceMills, TimeUnit.MILLISECONDS);
+        testObserver.assertValue(asList("abc", "abd", "xab"));
+        verify(mRxCombiningTraining, never()).searchItems(eq("a"), anyInt());
+
+        searchSubject.onNext("abc");
+        mTestScheduler.advanceTimeBy(debounceMills, TimeUnit.MILLISECONDS);
+        testObserver.assertValueAt(1, asList("abc"));
+        verify(mRxCombiningTraining, never()).searchItems(eq("abc"), anyInt());
+
+        searchSubject.onNext("ab");
+        mTestScheduler.advanceTimeBy(debounceMills, TimeUnit.MILLISECONDS);
+        testObserver.assertValueAt(2, asList("abc", "abd", "xab"));
+
+        verify(mRxCombiningTraining, times(1)).searchItems(anyString(), anyInt());
+        assertEquals(1, searchEngine.getSearchCount());
+        assertEquals(1, searchEngine.getPrefixHitCount());
+        assertEquals(1, searchEngine.getCacheHitCount());
+        testObserver.assertNoErrors();
+    }
+
+}
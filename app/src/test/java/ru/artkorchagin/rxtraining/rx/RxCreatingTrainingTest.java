@@ -3,7 +3,13 @@ package ru.artkorchagin.rxtraining.rx;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import io.reactivex.Observable;
@@ -12,11 +18,19 @@ import io.reactivex.functions.Function;
 import io.reactivex.observers.TestObserver;
 import io.reactivex.plugins.RxJavaPlugins;
 import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import ru.artkorchagin.rxtraining.cache.RefreshableValue;
 import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+import ru.artkorchagin.rxtraining.resilience.ResiliencePolicy;
+import ru.artkorchagin.rxtraining.rx.schedulers.HashedWheelScheduler;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -214,4 +228,191 @@ public class RxCreatingTrainingTest {
         testObserver.assertNoValues();
         testObserver.assertError(ExpectedException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void combinationExpensiveMethods_parallel() {
+        Observable<Integer> observable = mRxCreatingTraining
+                .combinationExpensiveMethods(mTestScheduler, false);
+        TestObserver<Integer> firstObserver = observable.test();
+        TestObserver<Integer> secondObserver = observable.test();
+
+        verify(mRxCreatingTraining, never()).expensiveMethod();
+        mTestScheduler.triggerActions();
+
+        firstObserver.assertValues(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        firstObserver.assertComplete();
+        secondObserver.assertValues(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        secondObserver.assertComplete();
+
+        TestObserver<Integer> repeatObserver = observable.test();
+        repeatObserver.assertValueCount(3);
+        repeatObserver.assertComplete();
+
+        verify(mRxCreatingTraining, times(1)).expensiveMethod();
+        verify(mRxCreatingTraining, times(1)).alternativeExpensiveMethod();
+        verify(mRxCreatingTraining, times(1)).unstableMethod(anyBoolean());
+    }
+
+    @Test
+    public void combinationExpensiveMethods_parallelWithError() {
+        Observable<Integer> observable = mRxCreatingTraining
+                .combinationExpensiveMethods(mTestScheduler, true);
+        TestObserver<Integer> testObserver = observable.test();
+        mTestScheduler.triggerActions();
+
+        testObserver.assertValueCount(2);
+        testObserver.assertError(ExpectedException.class);
+        testObserver.assertNotComplete();
+
+        observable.test();
+        mTestScheduler.triggerActions();
+        verify(mRxCreatingTraining, times(2)).unstableMethod(anyBoolean());
+    }
+
+    @Test
+    public void combinationExpensiveMethods_parallelDisposed() {
+        Observable<Integer> observable = mRxCreatingTraining
+                .combinationExpensiveMethods(mTestScheduler, false);
+        TestObserver<Integer> firstObserver = observable.test();
+        TestObserver<Integer> secondObserver = observable.test();
+
+        firstObserver.dispose();
+        secondObserver.dispose();
+        mTestScheduler.triggerActions();
+
+        verify(mRxCreatingTraining, never()).expensiveMethod();
+        verify(mRxCreatingTraining, never()).alternativeExpensiveMethod();
+        verify(mRxCreatingTraining, never()).unstableMethod(anyBoolean());
+
+        TestObserver<Integer> newObserver = observable.test();
+        mTestScheduler.triggerActions();
+        newObserver.assertValueCount(3);
+        newObserver.assertComplete();
+    }
+
+    @Test
+    public void expensiveMethodResult_cached() {
+        RefreshableValue<Integer> expensiveMethodCache = mRxCreatingTraining
+                .createExpensiveMethodCache(PERIOD);
+        Observable<Integer> observable = mRxCreatingTraining
+                .expensiveMethodResult(expensiveMethodCache);
+        verify(mRxCreatingTraining, never()).expensiveMethod();
+
+        observable.test().assertResult(Integer.MAX_VALUE);
+        observable.test().assertResult(Integer.MAX_VALUE);
+        verify(mRxCreatingTraining, times(1)).expensiveMethod();
+
+        mTestScheduler.advanceTimeBy(PERIOD, TimeUnit.MILLISECONDS);
+        observable.test().assertResult(Integer.MAX_VALUE);
+        observable.test().assertResult(Integer.MAX_VALUE);
+        verify(mRxCreatingTraining, times(1)).expensiveMethod();
+        mTestScheduler.triggerActions();
+        verify(mRxCreatingTraining, times(2)).expensiveMethod();
+
+        observable.test().assertResult(Integer.MAX_VALUE);
+        verify(mRxCreatingTraining, times(2)).expensiveMethod();
+
+        expensiveMethodCache.invalidate();
+        observable.test().assertResult(Integer.MAX_VALUE);
+        verify(mRxCreatingTraining, times(3)).expensiveMethod();
+    }
+
+    @Test
+    public void increasingSequenceWithDelays_wheelScheduler() throws InterruptedException {
+        HashedWheelScheduler wheelScheduler = new HashedWheelScheduler();
+        try {
+            TestObserver<Long> testObserver = mRxCreatingTraining
+                    .increasingSequenceWithDelays(wheelScheduler, 10, 5)
+                    .take(4)
+                    .test();
+
+            testObserver.await(1, TimeUnit.SECONDS);
+            testObserver.assertResult(0L, 1L, 2L, 3L);
+        } finally {
+            wheelScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void delayedZero_wheelScheduler() throws InterruptedException {
+        HashedWheelScheduler wheelScheduler = new HashedWheelScheduler();
+        try {
+            long start = System.nanoTime();
+            TestObserver<Long> testObserver = mRxCreatingTraining
+                    .delayedZero(wheelScheduler, 20)
+                    .test();
+
+            testObserver.await(1, TimeUnit.SECONDS);
+            testObserver.assertResult(0L);
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        } finally {
+            wheelScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void combinationExpensiveMethods_retriedUnstable() {
+        final int[] calls = {0};
+        doAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                if (++calls[0] < 3) {
+                    throw new ExpectedException();
+                }
+                return Integer.MAX_VALUE;
+            }
+        }).when(mRxCreatingTraining).unstableMethod(anyBoolean());
+        ResiliencePolicy resiliencePolicy = mRxCreatingTraining
+                .createResiliencePolicy(3, 10, 1000);
+
+        TestObserver<Integer> testObserver = mRxCreatingTraining
+                .combinationExpensiveMethods(resiliencePolicy, true)
+                .test();
+        testObserver.assertValues(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        testObserver.assertNotTerminated();
+
+        mTestScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        testObserver.assertResult(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        verify(mRxCreatingTraining, times(1)).expensiveMethod();
+        verify(mRxCreatingTraining, times(3)).unstableMethod(anyBoolean());
+    }
+
+    @Test
+    public void combinationExpensiveMethods_retriesExhausted() {
+        ResiliencePolicy resiliencePolicy = mRxCreatingTraining
+                .createResiliencePolicy(2, 10, 1000);
+
+        TestObserver<Integer> testObserver = mRxCreatingTraining
+                .combinationExpensiveMethods(resiliencePolicy, true)
+                .test();
+        mTestScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        testObserver.assertFailure(ExpectedException.class, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        verify(mRxCreatingTraining, times(3)).unstableMethod(anyBoolean());
+    }
+
+    @Test
+    public void arrayToParallelRanges() {
+        String[] array = new String[1001];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = String.valueOf(i);
+        }
+
+        TestSubscriber<List<String>> testSubscriber = mRxCreatingTraining
+                .arrayToParallelRanges(100, array)
+                .sequential()
+                .test();
+        mTestScheduler.triggerActions();
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertComplete();
+        testSubscriber.assertValueCount(11);
+        Set<String> values = new HashSet<>();
+        for (List<String> range : testSubscriber.values()) {
+            assertTrue(range.size() == 100 || range.size() == 1);
+            values.addAll(range);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(array)), values);
+    }
+
+}
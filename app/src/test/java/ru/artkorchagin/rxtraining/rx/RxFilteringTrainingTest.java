@@ -4,6 +4,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -11,11 +18,25 @@ import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
 import io.reactivex.ObservableOnSubscribe;
 import io.reactivex.Scheduler;
+import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.observers.TestObserver;
 import io.reactivex.plugins.RxJavaPlugins;
 import io.reactivex.schedulers.TestScheduler;
-
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subscribers.TestSubscriber;
+import ru.artkorchagin.rxtraining.distinct.BoundedIntHashSet;
+import ru.artkorchagin.rxtraining.distinct.ExpiringIntSet;
+import ru.artkorchagin.rxtraining.distinct.IntBloomFilter;
+import ru.artkorchagin.rxtraining.distinct.IntDistinctFilter;
+import ru.artkorchagin.rxtraining.metrics.BackpressureMetrics;
+import ru.artkorchagin.rxtraining.rx.operators.OverflowPolicy;
+import ru.artkorchagin.rxtraining.rx.operators.OverflowStrategy;
+import ru.artkorchagin.rxtraining.rx.schedulers.SharedTicker;
+import ru.artkorchagin.rxtraining.rx.schedulers.TimeoutWheel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.reset;
 
 /**
@@ -220,4 +241,308 @@ public class RxFilteringTrainingTest {
         testObserver.assertComplete();
         testObserver.assertValues(2, 1, 2, 3, 6, 4, 5, 6);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void ignoreDuplicates_boundedHashSet() {
+        TestObserver<Integer> testObserver = mRxFilteringTraining
+                .ignoreDuplicates(new Callable<IntDistinctFilter>() {
+                                      @Override
+                                      public IntDistinctFilter call() {
+                                          return new BoundedIntHashSet(16);
+                                      }
+                                  },
+                        Observable.fromArray(2, 1, 2, 3, 6, 4, 5, 5, 6, 0, 0))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(2, 1, 3, 6, 4, 5, 0);
+    }
+
+    @Test
+    public void ignoreDuplicates_filterPerSubscription() {
+        Observable<Integer> distinct = mRxFilteringTraining
+                .ignoreDuplicates(new Callable<IntDistinctFilter>() {
+                    @Override
+                    public IntDistinctFilter call() {
+                        return new BoundedIntHashSet(16);
+                    }
+                }, Observable.fromArray(1, 2, 1));
+
+        distinct.test().assertResult(1, 2);
+        distinct.test().assertResult(1, 2);
+        distinct.repeat(2).test().assertResult(1, 2, 1, 2);
+    }
+
+    @Test
+    public void ignoreDuplicates_bloomFilter() {
+        TestObserver<Integer> testObserver = mRxFilteringTraining
+                .ignoreDuplicates(new Callable<IntDistinctFilter>() {
+                                      @Override
+                                      public IntDistinctFilter call() {
+                                          return new IntBloomFilter(100, 0.001);
+                                      }
+                                  },
+                        Observable.fromArray(2, 1, 2, 3, 6, 4, 5, 5, 6))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(2, 1, 3, 6, 4, 5);
+    }
+
+    @Test
+    public void ignoreDuplicates_timeWindow() {
+        final int windowMills = 500;
+        TestObserver<Integer> testObserver = mRxFilteringTraining
+                .ignoreDuplicates(new Callable<IntDistinctFilter>() {
+                                      @Override
+                                      public IntDistinctFilter call() {
+                                          return new ExpiringIntSet(windowMills, TimeUnit.MILLISECONDS, 100,
+                                                  mTestScheduler);
+                                      }
+                                  },
+                        Observable.create(new ObservableOnSubscribe<Integer>() {
+                            @Override
+                            public void subscribe(ObservableEmitter<Integer> emitter) {
+                                emitter.onNext(1);
+                                emitter.onNext(2);
+                                emitter.onNext(1);
+                                mTestScheduler.advanceTimeBy(windowMills, TimeUnit.MILLISECONDS);
+                                emitter.onNext(1);
+                                emitter.onNext(2);
+                                emitter.onNext(2);
+                                emitter.onComplete();
+                            }
+                        }))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(1, 2, 1, 2);
+    }
+
+    @Test
+    public void onlyLastPerInterval_sharedTicker() {
+        final int periodMills = 500;
+        TestObserver<Integer> testObserver = mRxFilteringTraining
+                .onlyLastPerInterval(mRxFilteringTraining.createSampleTicker(periodMills),
+                        Observable.create(new ObservableOnSubscribe<Integer>() {
+                            @Override
+                            public void subscribe(ObservableEmitter<Integer> emitter) {
+                                emitter.onNext(-1);
+                                mTestScheduler.advanceTimeBy(periodMills, TimeUnit.MILLISECONDS);
+                                emitter.onNext(2);
+                                emitter.onNext(3);
+                                emitter.onNext(Integer.MIN_VALUE);
+                                mTestScheduler.advanceTimeBy(periodMills, TimeUnit.MILLISECONDS);
+                                emitter.onNext(Integer.MAX_VALUE);
+                                mTestScheduler.advanceTimeBy(periodMills, TimeUnit.MILLISECONDS);
+                                mTestScheduler.advanceTimeBy(periodMills, TimeUnit.MILLISECONDS);
+                                emitter.onNext(6);
+                                emitter.onNext(7);
+                                emitter.onComplete();
+                            }
+                        }))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(-1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void onlyLastPerInterval_severalSamplers() {
+        final int periodMills = 500;
+        SharedTicker ticker = mRxFilteringTraining.createSampleTicker(periodMills);
+        PublishSubject<Integer> first = PublishSubject.create();
+        PublishSubject<Integer> second = PublishSubject.create();
+        TestObserver<Integer> firstObserver = mRxFilteringTraining
+                .onlyLastPerInterval(ticker, first)
+                .test();
+        TestObserver<Integer> secondObserver = mRxFilteringTraining
+                .onlyLastPerInterval(ticker, second)
+                .test();
+        assertEquals(2, ticker.getListenerCount());
+
+        first.onNext(1);
+        second.onNext(10);
+        second.onNext(20);
+        mTestScheduler.advanceTimeBy(periodMills, TimeUnit.MILLISECONDS);
+        first.onNext(2);
+        mTestScheduler.advanceTimeBy(periodMills, TimeUnit.MILLISECONDS);
+
+        firstObserver.assertValues(1, 2);
+        secondObserver.assertValues(20);
+
+        first.onComplete();
+        firstObserver.assertComplete();
+        assertEquals(1, ticker.getListenerCount());
+        secondObserver.dispose();
+        assertEquals(0, ticker.getListenerCount());
+        assertFalse(second.hasObservers());
+    }
+
+    @Test
+    public void errorIfLongWait_timeoutWheel() {
+        final int periodMills = 500;
+        final int precisionMills = 10;
+        TimeoutWheel timeoutWheel = mRxFilteringTraining.createTimeoutWheel(precisionMills);
+        TestObserver<Integer> testObserver = mRxFilteringTraining
+                .errorIfLongWait(timeoutWheel, periodMills, Observable.create(new ObservableOnSubscribe<Integer>() {
+                    @Override
+                    public void subscribe(ObservableEmitter<Integer> emitter) {
+                        emitter.onNext(1);
+                        mTestScheduler.advanceTimeBy(periodMills - 1, TimeUnit.MILLISECONDS);
+                        emitter.onNext(2);
+                        emitter.onNext(3);
+                        mTestScheduler.advanceTimeBy(periodMills - 1, TimeUnit.MILLISECONDS);
+                        emitter.onNext(4);
+                        mTestScheduler.advanceTimeBy(periodMills + 2 * precisionMills, TimeUnit.MILLISECONDS);
+                        emitter.onNext(5);
+                        emitter.onComplete();
+                    }
+                }))
+                .test();
+
+        testObserver.assertNotComplete();
+        testObserver.assertValues(1, 2, 3, 4);
+        testObserver.assertError(TimeoutException.class);
+        assertEquals(0, timeoutWheel.getWatchCount());
+    }
+
+    @Test
+    public void errorIfLongWait_timeoutWheelSeveralStreams() {
+        final int periodMills = 500;
+        TimeoutWheel timeoutWheel = mRxFilteringTraining.createTimeoutWheel(10);
+        PublishSubject<Integer> active = PublishSubject.create();
+        PublishSubject<Integer> idle = PublishSubject.create();
+        PublishSubject<Integer> completed = PublishSubject.create();
+        TestObserver<Integer> activeObserver = mRxFilteringTraining
+                .errorIfLongWait(timeoutWheel, periodMills, active)
+                .test();
+        TestObserver<Integer> idleObserver = mRxFilteringTraining
+                .errorIfLongWait(timeoutWheel, periodMills, idle)
+                .test();
+        TestObserver<Integer> completedObserver = mRxFilteringTraining
+                .errorIfLongWait(timeoutWheel, periodMills, completed)
+                .test();
+        assertEquals(3, timeoutWheel.getWatchCount());
+
+        completed.onNext(1);
+        completed.onComplete();
+        for (int i = 0; i < 10; i++) {
+            active.onNext(i);
+            mTestScheduler.advanceTimeBy(periodMills / 5, TimeUnit.MILLISECONDS);
+        }
+
+        activeObserver.assertValueCount(10);
+        activeObserver.assertNoErrors();
+        idleObserver.assertError(TimeoutException.class);
+        assertFalse(idle.hasObservers());
+        completedObserver.assertResult(1);
+        assertEquals(1, timeoutWheel.getWatchCount());
+
+        activeObserver.dispose();
+        mTestScheduler.advanceTimeBy(periodMills, TimeUnit.MILLISECONDS);
+        activeObserver.assertNoErrors();
+        assertEquals(0, timeoutWheel.getWatchCount());
+    }
+
+    @Test
+    public void onlyLastValuesPrimitive() {
+        mRxFilteringTraining
+                .onlyLastValuesPrimitive(100, Observable.fromArray(1, 2, 3, 4, 5))
+                .test()
+                .assertResult(1, 2, 3, 4, 5);
+        mRxFilteringTraining
+                .onlyLastValuesPrimitive(2, Observable.fromArray(1, 2, 3, 4, 5))
+                .test()
+                .assertResult(4, 5);
+        mRxFilteringTraining
+                .onlyLastValuesPrimitive(0, Observable.fromArray(1, 2, 3, 4, 5))
+                .test()
+                .assertResult();
+    }
+
+    @Test
+    public void onlyLastValues_spillToFile() {
+        TestObserver<Integer> testObserver = mRxFilteringTraining
+                .onlyLastValues(1000, 10, null, Observable.range(0, 100000))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValueCount(1000);
+        testObserver.assertValueAt(0, 99000);
+        testObserver.assertValueAt(999, 99999);
+    }
+
+    @Test
+    public void onlyLastValues_spillError() {
+        mRxFilteringTraining
+                .onlyLastValues(1000, 10, new File("/nonexistent-spill-directory"),
+                        Observable.fromArray(1, 2, 3))
+                .test()
+                .assertFailure(IOException.class);
+    }
+
+    @Test
+    public void applyFilterChain() {
+        TestObserver<Integer> testObserver = mRxFilteringTraining
+                .applyFilterChain(mRxFilteringTraining.createFilterChain(2, 4),
+                        Observable.fromArray(-1, 5, 0, 7, 3, 3, -2, 3, 8, 8, 1, 9, 10))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(3, 8);
+    }
+
+    @Test
+    public void onlyChangedValuesBatched() {
+        final List<Integer> values = new ArrayList<>();
+        final List<Integer> chunkSizes = new ArrayList<>();
+        mRxFilteringTraining
+                .onlyChangedValuesBatched(Observable.fromArray(
+                        new int[]{1, 1, 2, 2, 2, 3},
+                        new int[]{3, 3, 3},
+                        new int[0],
+                        new int[]{3, 4, 4, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+                                1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+                                1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2}))
+                .doOnNext(new Consumer<IntBuffer>() {
+                    @Override
+                    public void accept(IntBuffer buffer) {
+                        chunkSizes.add(buffer.remaining());
+                        while (buffer.hasRemaining()) {
+                            values.add(buffer.get());
+                        }
+                    }
+                })
+                .test()
+                .assertNoErrors()
+                .assertComplete();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 1, 2), values);
+        assertEquals(Arrays.asList(3, 3), chunkSizes);
+    }
+
+    @Test
+    public void onlyPositiveNumbers_overflowPolicy() {
+        BackpressureMetrics metrics = new BackpressureMetrics("onlyPositiveNumbers");
+        Mockito.doReturn(Observable.range(1, 10))
+                .when(mRxFilteringTraining)
+                .onlyPositiveNumbers(Mockito.<Observable<Integer>>any());
+
+        TestSubscriber<Integer> testSubscriber = mRxFilteringTraining
+                .onlyPositiveNumbers(new OverflowPolicy(OverflowStrategy.DROP_OLDEST, 2, metrics),
+                        Observable.just(1))
+                .test(1);
+        testSubscriber.requestMore(10);
+
+        testSubscriber.assertResult(1, 9, 10);
+        assertEquals(7, metrics.getDroppedCount());
+        assertEquals(2, metrics.getHighWaterMark());
+    }
+}
@@ -126,4 +126,27 @@ public class RxMaybeTrainingTest {
         testObserver.assertNoErrors();
         testObserver.assertComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void calculateSumOfValuesPrimitive_hasValues() {
+        TestObserver<Integer> testObserver = mRxMaybeTraining
+                .calculateSumOfValuesPrimitive(Observable.fromArray(1, 2, 3))
+                .test();
+
+        testObserver.assertValues(6);
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+    }
+
+    @Test
+    public void calculateSumOfValuesPrimitive_noValues() {
+        TestObserver<Integer> testObserver = mRxMaybeTraining
+                .calculateSumOfValuesPrimitive(Observable.<Integer>empty())
+                .test();
+
+        testObserver.assertNoValues();
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+    }
+
+}
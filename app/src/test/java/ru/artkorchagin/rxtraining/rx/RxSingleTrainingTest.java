@@ -124,4 +124,49 @@ public class RxSingleTrainingTest {
         testObserver.assertComplete();
         testObserver.assertValues(false);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void calculateSumOfValuesPrimitive() {
+        TestObserver<Integer> testObserver = mRxSingleTraining
+                .calculateSumOfValuesPrimitive(Observable.fromArray(1, 2, 3))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(6);
+    }
+
+    @Test
+    public void calculateSumOfValuesPrimitive_empty() {
+        TestObserver<Integer> testObserver = mRxSingleTraining
+                .calculateSumOfValuesPrimitive(Observable.<Integer>empty())
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(0);
+    }
+
+    @Test
+    public void allElementsIsPositivePrimitive_true() {
+        TestObserver<Boolean> testObserver = mRxSingleTraining
+                .allElementsIsPositivePrimitive(Observable.fromArray(1, 2, 3))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(true);
+    }
+
+    @Test
+    public void allElementsIsPositivePrimitive_false() {
+        TestObserver<Boolean> testObserver = mRxSingleTraining
+                .allElementsIsPositivePrimitive(Observable.fromArray(1, 2, -3)
+                        .concatWith(Observable.<Integer>error(new ExpectedException())))
+                .test();
+
+        testObserver.assertNoErrors();
+        testObserver.assertComplete();
+        testObserver.assertValues(false);
+    }
+}
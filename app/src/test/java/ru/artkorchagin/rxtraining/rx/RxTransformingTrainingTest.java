@@ -1,23 +1,56 @@
 package ru.artkorchagin.rxtraining.rx;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.ObservableOnSubscribe;
 import io.reactivex.ObservableSource;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.observables.GroupedObservable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subscribers.TestSubscriber;
+import ru.artkorchagin.rxtraining.buffer.ByteChunk;
+import ru.artkorchagin.rxtraining.buffer.ByteChunkPool;
+import ru.artkorchagin.rxtraining.buffer.IntChunk;
+import ru.artkorchagin.rxtraining.buffer.IntChunkPool;
+import ru.artkorchagin.rxtraining.cache.CoalescingCache;
 import ru.artkorchagin.rxtraining.entity.Entity;
+import ru.artkorchagin.rxtraining.metrics.HeadOfLineMetrics;
+import ru.artkorchagin.rxtraining.rx.schedulers.BoundedBlockingScheduler;
+import ru.artkorchagin.rxtraining.rx.schedulers.RailSchedulers;
 import ru.artkorchagin.rxtraining.rx.entity.Pair;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
@@ -27,11 +60,38 @@ public class RxTransformingTrainingTest {
 
     private RxTransformingTraining mRxTransformingTraining = Mockito.spy(new RxTransformingTraining());
 
+    private RailSchedulers mRails = new RailSchedulers(2);
+
     @Before
     public void setUp() {
         reset(mRxTransformingTraining);
     }
 
+    @After
+    public void tearDown() {
+        mRails.shutdown();
+        RxJavaPlugins.reset();
+    }
+
+    private static Observable<Pair<Character, List<String>>> collectGroups(
+            Observable<GroupedObservable<Character, String>> groupsObservable) {
+        return groupsObservable
+                .flatMap(new Function<GroupedObservable<Character, String>, ObservableSource<Pair<Character, List<String>>>>() {
+                    @Override
+                    public ObservableSource<Pair<Character, List<String>>> apply(final GroupedObservable<Character, String> characterStringGroupedObservable) {
+                        return characterStringGroupedObservable
+                                .toList()
+                                .map(new Function<List<String>, Pair<Character, List<String>>>() {
+                                    @Override
+                                    public Pair<Character, List<String>> apply(List<String> strings) {
+                                        return Pair.create(characterStringGroupedObservable.getKey(), strings);
+                                    }
+                                })
+                                .toObservable();
+                    }
+                });
+    }
+
     @Test
     public void transformIntToString() {
         Integer[] testIntValues = {0, 1, 2, 3};
@@ -111,4 +171,291 @@ public class RxTransformingTrainingTest {
         testObservable.assertValueSequence(resultIntsValues);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void requestEntityByIdBatched() {
+        Integer[] testIdsValues = {0, 1, 2, 3, 4, 1};
+        Entity[] testEntitiesValues = {new Entity(0), new Entity(1), new Entity(2), new Entity(3),
+                new Entity(4), new Entity(1)};
+
+        TestObserver<Entity> testObservable = mRxTransformingTraining
+                .requestEntityByIdBatched(4, 60_000, 2, Observable.fromArray(testIdsValues))
+                .test();
+
+        testObservable.assertComplete();
+        testObservable.assertNoErrors();
+        testObservable.assertValues(testEntitiesValues);
+        verify(mRxTransformingTraining, times(2)).requestApiEntities(ArgumentMatchers.<Integer>anyCollection());
+        verify(mRxTransformingTraining, never()).requestApiEntity(anyInt());
+    }
+
+    @Test
+    public void requestEntityByIdBatched_flushByTimeout() {
+        TestScheduler testScheduler = new TestScheduler();
+        PublishSubject<Integer> ids = PublishSubject.create();
+
+        TestObserver<Entity> testObservable = mRxTransformingTraining
+                .requestEntityByIdBatched(testScheduler, 4, 100, 2, ids)
+                .test();
+        ids.onNext(0);
+        ids.onNext(1);
+
+        testScheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        testObservable.assertNoValues();
+        verify(mRxTransformingTraining, never()).requestApiEntities(ArgumentMatchers.<Integer>anyCollection());
+
+        testScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        testObservable.assertValues(new Entity(0), new Entity(1));
+        testObservable.assertNotComplete();
+        verify(mRxTransformingTraining, times(1)).requestApiEntities(ArgumentMatchers.<Integer>anyCollection());
+    }
+
+    @Test
+    public void requestEntityByIdBatched_unorderedResponse() {
+        doReturn(Observable.just(asList(new Entity(2), new Entity(0), new Entity(1))))
+                .when(mRxTransformingTraining)
+                .requestApiEntities(ArgumentMatchers.<Integer>anyCollection());
+
+        TestObserver<Entity> testObservable = mRxTransformingTraining
+                .requestEntityByIdBatched(3, 60_000, 1, Observable.fromArray(0, 1, 2))
+                .test();
+
+        testObservable.assertComplete();
+        testObservable.assertNoErrors();
+        testObservable.assertValues(new Entity(0), new Entity(1), new Entity(2));
+    }
+
+    @Test
+    public void requestEntityByIdCached() {
+        CoalescingCache<Integer, Entity> entityCache = mRxTransformingTraining
+                .createEntityCache(10, 60_000);
+
+        TestObserver<Entity> testObservable = mRxTransformingTraining
+                .requestEntityByIdCached(entityCache, Observable.fromArray(0, 1, 0, 1, 2))
+                .test();
+
+        testObservable.assertComplete();
+        testObservable.assertNoErrors();
+        testObservable.assertValues(new Entity(0), new Entity(1), new Entity(0), new Entity(1),
+                new Entity(2));
+        verify(mRxTransformingTraining, times(3)).requestApiEntity(anyInt());
+        assertEquals(2, entityCache.getHitCount());
+        assertEquals(3, entityCache.getMissCount());
+    }
+
+    @Test
+    public void collectsIntsToChunks() {
+        Integer[] testIntsValues = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        List<List<Integer>> resultIntsValues = asList(
+                asList(0, 1, 2),
+                asList(3, 4, 5),
+                asList(6, 7, 8),
+                asList(9, 10));
+        IntChunkPool chunkPool = new IntChunkPool(3, 4, true);
+        final List<List<Integer>> chunksValues = new ArrayList<>();
+
+        TestObserver<IntChunk> testObservable = mRxTransformingTraining
+                .collectsIntsToChunks(chunkPool, Observable.fromArray(testIntsValues))
+                .doOnNext(new Consumer<IntChunk>() {
+                    @Override
+                    public void accept(IntChunk chunk) {
+                        List<Integer> values = new ArrayList<>();
+                        for (int i = 0; i < chunk.size(); i++) {
+                            values.add(chunk.get(i));
+                        }
+                        chunksValues.add(values);
+                        chunk.release();
+                    }
+                })
+                .test();
+
+        testObservable.assertComplete();
+        testObservable.assertNoErrors();
+        assertEquals(resultIntsValues, chunksValues);
+        assertEquals(1, chunkPool.getAllocatedCount());
+    }
+
+    @Test
+    public void distributeNamesByFirstLetter_rails() {
+        String[] testNamesValues = {"00", "11", "11123", "22", "33", "34", "35"};
+        List<Pair<Character, List<String>>> testPairsValues = Arrays.asList(
+                Pair.create('0', singletonList("00")),
+                Pair.create('1', asList("11", "11123")),
+                Pair.create('2', singletonList("22")),
+                Pair.create('3', asList("33", "34", "35"))
+        );
+
+        TestObserver<Pair<Character, List<String>>> testObservable = collectGroups(mRxTransformingTraining
+                .distributeNamesByFirstLetter(mRails, 60_000, Observable.fromArray(testNamesValues)))
+                .test();
+
+        testObservable.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        testObservable.assertComplete();
+        testObservable.assertNoErrors();
+        assertEquals(new HashSet<>(testPairsValues), new HashSet<>(testObservable.values()));
+    }
+
+    @Test
+    public void distributeNamesByFirstLetter_evictsIdleGroups() {
+        final TestScheduler testScheduler = new TestScheduler();
+        RxJavaPlugins.setComputationSchedulerHandler(new Function<Scheduler, Scheduler>() {
+            @Override
+            public Scheduler apply(Scheduler scheduler) {
+                return testScheduler;
+            }
+        });
+        List<Pair<Character, List<String>>> testPairsValues = Arrays.asList(
+                Pair.create('a', singletonList("a1")),
+                Pair.create('b', asList("b1", "b2")),
+                Pair.create('a', singletonList("a2"))
+        );
+
+        TestObserver<Pair<Character, List<String>>> testObservable = collectGroups(mRxTransformingTraining
+                .distributeNamesByFirstLetter(mRails, 1500, Observable.create(new ObservableOnSubscribe<String>() {
+                    @Override
+                    public void subscribe(ObservableEmitter<String> emitter) {
+                        emitter.onNext("a1");
+                        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                        emitter.onNext("b1");
+                        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                        emitter.onNext("b2");
+                        emitter.onNext("a2");
+                        emitter.onComplete();
+                    }
+                })))
+                .test();
+
+        testObservable.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        testObservable.assertComplete();
+        testObservable.assertNoErrors();
+        testObservable.assertValueCount(3);
+        assertEquals(new HashSet<>(testPairsValues), new HashSet<>(testObservable.values()));
+    }
+
+    @Test
+    public void distributeNamesByFirstLetter_evictsIdleGroupsWhenSourceIsQuiet() {
+        TestScheduler testScheduler = new TestScheduler();
+        PublishSubject<String> namesSubject = PublishSubject.create();
+        List<Pair<Character, List<String>>> testPairsValues = Arrays.asList(
+                Pair.create('a', singletonList("a1")),
+                Pair.create('b', singletonList("b1"))
+        );
+
+        TestObserver<Pair<Character, List<String>>> testObservable = collectGroups(mRxTransformingTraining
+                .distributeNamesByFirstLetter(testScheduler, mRails, 1500, namesSubject))
+                .test();
+        namesSubject.onNext("a1");
+        namesSubject.onNext("b1");
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        testObservable.assertNoValues();
+
+        testScheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        testObservable.awaitCount(2);
+        testObservable.assertNotComplete();
+        testObservable.assertNoErrors();
+        assertEquals(new HashSet<>(testPairsValues), new HashSet<>(testObservable.values()));
+        testObservable.dispose();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void distributeNamesByFirstLetter_invalidIdleMills() {
+        mRxTransformingTraining.distributeNamesByFirstLetter(mRails, 0, Observable.just("a"));
+    }
+
+    @Test
+    public void requestEntityByIdOrdered() {
+        TestScheduler testScheduler = new TestScheduler();
+        long[] delays = {40, 10, 30, 20, 5};
+        for (int id = 0; id < delays.length; id++) {
+            doReturn(Observable.just(new Entity(id)).delay(delays[id], TimeUnit.MILLISECONDS, testScheduler))
+                    .when(mRxTransformingTraining)
+                    .requestApiEntity(id);
+        }
+        HeadOfLineMetrics metrics = new HeadOfLineMetrics();
+
+        TestObserver<Entity> testObservable = mRxTransformingTraining
+                .requestEntityByIdOrdered(4, 1, metrics, Observable.range(0, delays.length))
+                .test();
+        verify(mRxTransformingTraining, times(4)).requestApiEntity(anyInt());
+
+        testScheduler.advanceTimeBy(30, TimeUnit.MILLISECONDS);
+        testObservable.assertNoValues();
+        testScheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        testObservable.assertValues(new Entity(0), new Entity(1), new Entity(2), new Entity(3));
+        verify(mRxTransformingTraining, times(5)).requestApiEntity(anyInt());
+
+        testScheduler.advanceTimeBy(5, TimeUnit.MILLISECONDS);
+        testObservable.assertComplete();
+        testObservable.assertNoErrors();
+        testObservable.assertValueCount(5);
+        assertEquals(5, metrics.getReleasedCount());
+        assertEquals(3, metrics.getBlockedCount());
+        assertEquals(2, metrics.getMaxWaitingCount());
+    }
+
+    @Test
+    public void requestEntityById_boundedScheduler() throws InterruptedException {
+        BoundedBlockingScheduler scheduler = new BoundedBlockingScheduler(2);
+        try {
+            TestObserver<Entity> testObserver = mRxTransformingTraining
+                    .requestEntityById(scheduler, 8, Observable.range(0, 100))
+                    .test();
+
+            testObserver.await(5, TimeUnit.SECONDS);
+            testObserver.assertComplete();
+            testObserver.assertNoErrors();
+            testObserver.assertValueCount(100);
+            assertEquals(100, new HashSet<>(testObserver.values()).size());
+            verify(mRxTransformingTraining, times(100)).requestApiEntity(anyInt());
+            assertTrue(scheduler.getLargestThreadCount() <= 2);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void transformIntToString_parallelOrdered() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> expected = new ArrayList<>();
+            for (int i = -500; i < 500; i++) {
+                expected.add(String.valueOf(i));
+            }
+
+            TestSubscriber<String> testSubscriber = mRxTransformingTraining
+                    .transformIntToString(16, true, Schedulers.from(executor),
+                            Flowable.range(-500, 1000))
+                    .test();
+
+            testSubscriber.await(5, TimeUnit.SECONDS);
+            testSubscriber.assertComplete();
+            testSubscriber.assertValueSequence(expected);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void transformIntToText() {
+        ByteChunkPool chunkPool = new ByteChunkPool(16, 4, true);
+        final StringBuilder text = new StringBuilder();
+        final Charset charset = Charset.forName("US-ASCII");
+
+        mRxTransformingTraining
+                .transformIntToText(chunkPool, (byte) '\n',
+                        Observable.just(1, -20, 300, Integer.MIN_VALUE, 5))
+                .doOnNext(new Consumer<ByteChunk>() {
+                    @Override
+                    public void accept(ByteChunk chunk) {
+                        text.append(charset.decode(chunk.asReadOnlyBuffer()));
+                        chunk.release();
+                    }
+                })
+                .test()
+                .assertNoErrors()
+                .assertComplete()
+                .assertValueCount(3);
+
+        assertEquals("1\n-20\n300\n-2147483648\n5\n", text.toString());
+        assertEquals(1, chunkPool.getAllocatedCount());
+    }
+}
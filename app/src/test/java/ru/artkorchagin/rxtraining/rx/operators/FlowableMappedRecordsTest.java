@@ -0,0 +1,136 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.reactivex.subscribers.TestSubscriber;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class FlowableMappedRecordsTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("records", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        mFile.delete();
+    }
+
+    @Test
+    public void splitsRecordsAcrossWindows() throws IOException {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("record-" + i);
+            content.append("record-").append(i).append('\n');
+        }
+        write(content.toString());
+
+        TestSubscriber<ByteBuffer> testSubscriber = new FlowableMappedRecords(mFile, (byte) '\n', 64)
+                .test();
+
+        testSubscriber.assertNoErrors();
+        testSubscriber.assertComplete();
+        assertEquals(expected, decode(testSubscriber.values()));
+    }
+
+    @Test
+    public void keepsEmptyRecordsAndLastRecordWithoutDelimiter() throws IOException {
+        write("a;;bc;d");
+
+        TestSubscriber<ByteBuffer> testSubscriber = new FlowableMappedRecords(mFile, (byte) ';', 3)
+                .test();
+
+        testSubscriber.assertComplete();
+        assertEquals(Arrays.asList("a", "", "bc", "d"), decode(testSubscriber.values()));
+    }
+
+    @Test
+    public void emptyFile() {
+        new FlowableMappedRecords(mFile, (byte) '\n', 16)
+                .test()
+                .assertResult();
+    }
+
+    @Test
+    public void recordLongerThanWindow() throws IOException {
+        write("abc\nabcdefgh\n");
+
+        TestSubscriber<ByteBuffer> testSubscriber = new FlowableMappedRecords(mFile, (byte) '\n', 4)
+                .test();
+
+        testSubscriber.assertError(IOException.class);
+        assertEquals(Arrays.asList("abc"), decode(testSubscriber.values()));
+    }
+
+    @Test
+    public void emitsOnlyRequested() throws IOException {
+        write("1\n2\n3\n");
+
+        TestSubscriber<ByteBuffer> testSubscriber = new FlowableMappedRecords(mFile, (byte) '\n', 16)
+                .test(0);
+        testSubscriber.assertNoValues();
+
+        testSubscriber.requestMore(2);
+        assertEquals(Arrays.asList("1", "2"), decode(testSubscriber.values()));
+        testSubscriber.assertNotComplete();
+
+        testSubscriber.requestMore(1);
+        testSubscriber.assertComplete();
+    }
+
+    @Test
+    public void recordsAreReadOnlySlices() throws IOException {
+        write("abc\ndef\n");
+
+        List<ByteBuffer> records = new FlowableMappedRecords(mFile, (byte) '\n', 16)
+                .toList()
+                .blockingGet();
+
+        assertEquals(2, records.size());
+        assertTrue(records.get(1).isReadOnly());
+        assertEquals(0, records.get(1).position());
+        assertEquals(3, records.get(1).remaining());
+    }
+
+    private void write(String content) throws IOException {
+        FileOutputStream outputStream = new FileOutputStream(mFile);
+        try {
+            outputStream.write(content.getBytes(UTF_8));
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static List<String> decode(List<ByteBuffer> records) {
+        List<String> values = new ArrayList<>();
+        for (ByteBuffer record : records) {
+            values.add(UTF_8.decode(record.duplicate()).toString());
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,168 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subscribers.TestSubscriber;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+import ru.artkorchagin.rxtraining.metrics.BackpressureMetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class FlowableOnOverflowTest {
+
+    @Test
+    public void bufferKeepsItemsUpToCapacity() {
+        BackpressureMetrics metrics = new BackpressureMetrics("buffer");
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.BUFFER, 3, metrics)
+                .toFlowable(subject)
+                .test(1);
+
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+        subject.onNext(4);
+        testSubscriber.assertValues(1);
+        testSubscriber.requestMore(5);
+        subject.onComplete();
+
+        testSubscriber.assertResult(1, 2, 3, 4);
+        assertEquals(3, metrics.getHighWaterMark());
+        assertEquals(0, metrics.getDroppedCount());
+    }
+
+    @Test
+    public void bufferOverflowIsError() {
+        BackpressureMetrics metrics = new BackpressureMetrics("buffer");
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.BUFFER, 2, metrics)
+                .toFlowable(subject)
+                .test(0);
+
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+
+        testSubscriber.assertFailure(MissingBackpressureException.class);
+        assertFalse(subject.hasObservers());
+        assertEquals(1, metrics.getOverflowCount());
+    }
+
+    @Test
+    public void dropOldestKeepsNewestItems() {
+        BackpressureMetrics metrics = new BackpressureMetrics("dropOldest");
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.DROP_OLDEST, 3, metrics)
+                .toFlowable(Observable.range(1, 10))
+                .test(0);
+
+        testSubscriber.requestMore(10);
+
+        testSubscriber.assertResult(8, 9, 10);
+        assertEquals(7, metrics.getDroppedCount());
+        assertEquals(3, metrics.getHighWaterMark());
+    }
+
+    @Test
+    public void dropNewestKeepsOldestItems() {
+        BackpressureMetrics metrics = new BackpressureMetrics("dropNewest");
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.DROP_NEWEST, 3, metrics)
+                .toFlowable(Observable.range(1, 10))
+                .test(0);
+
+        testSubscriber.requestMore(10);
+
+        testSubscriber.assertResult(1, 2, 3);
+        assertEquals(7, metrics.getDroppedCount());
+    }
+
+    @Test
+    public void latestKeepsLastItem() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.LATEST, 16, null)
+                .toFlowable(subject)
+                .test(1);
+
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+        subject.onNext(4);
+        testSubscriber.requestMore(1);
+        subject.onNext(5);
+        testSubscriber.requestMore(1);
+        subject.onComplete();
+
+        testSubscriber.assertResult(1, 4, 5);
+    }
+
+    @Test
+    public void errorWithoutRequest() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.ERROR, 16, null)
+                .toFlowable(subject)
+                .test(2);
+
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+
+        testSubscriber.assertFailure(MissingBackpressureException.class, 1, 2);
+    }
+
+    @Test
+    public void errorIsNotDelayedByQueue() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.BUFFER, 16, null)
+                .toFlowable(subject)
+                .test(0);
+
+        subject.onNext(1);
+        subject.onError(new ExpectedException());
+
+        testSubscriber.assertFailure(ExpectedException.class);
+    }
+
+    @Test
+    public void cancelDisposesUpstream() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.BUFFER, 16, null)
+                .toFlowable(subject)
+                .test(0);
+
+        testSubscriber.cancel();
+
+        assertFalse(subject.hasObservers());
+    }
+
+    @Test
+    public void slowConsumerOnOtherThread() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        BackpressureMetrics metrics = new BackpressureMetrics("observeOn");
+        try {
+            TestSubscriber<Integer> testSubscriber = new OverflowPolicy(OverflowStrategy.BUFFER, 100_000, metrics)
+                    .toFlowable(Observable.range(0, 100_000))
+                    .observeOn(Schedulers.from(executor), false, 16)
+                    .test();
+
+            testSubscriber.await(5, TimeUnit.SECONDS);
+            testSubscriber.assertComplete();
+            testSubscriber.assertValueCount(100_000);
+            assertEquals(0, metrics.getDroppedCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
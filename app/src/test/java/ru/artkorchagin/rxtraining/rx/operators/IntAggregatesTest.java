@@ -0,0 +1,62 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.junit.Test;
+
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntAggregatesTest {
+
+    private static final IntPredicate NEGATIVE = new IntPredicate() {
+        @Override
+        public boolean test(int value) {
+            return value < 0;
+        }
+    };
+
+    @Test
+    public void minMax() {
+        Observable<Integer> values = Observable.fromArray(3, -7, 12, 0);
+
+        IntAggregates.min(values).test().assertResult(-7);
+        IntAggregates.max(values).test().assertResult(12);
+    }
+
+    @Test
+    public void minMax_empty() {
+        IntAggregates.min(Observable.<Integer>empty()).test().assertResult();
+        IntAggregates.max(Observable.<Integer>empty()).test().assertResult();
+    }
+
+    @Test
+    public void count() {
+        IntAggregates.count(Observable.range(0, 1000)).test().assertResult(1000L);
+        IntAggregates.count(Observable.<Integer>empty()).test().assertResult(0L);
+    }
+
+    @Test
+    public void any_stopsOnFirstMatch() {
+        TestObserver<Boolean> testObserver = IntAggregates
+                .any(Observable.fromArray(1, -2).concatWith(Observable.<Integer>never()), NEGATIVE)
+                .test();
+
+        testObserver.assertResult(true);
+    }
+
+    @Test
+    public void any_noMatch() {
+        IntAggregates.any(Observable.fromArray(1, 2, 3), NEGATIVE).test().assertResult(false);
+    }
+
+    @Test
+    public void sum_error() {
+        IntAggregates.sum(Observable.<Integer>error(new IllegalStateException()))
+                .test()
+                .assertError(IllegalStateException.class);
+    }
+
+}
@@ -0,0 +1,228 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.reactivex.Observable;
+import io.reactivex.Observer;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Predicate;
+import io.reactivex.internal.fuseable.QueueDisposable;
+import io.reactivex.internal.fuseable.QueueFuseable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.UnicastSubject;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class IntFilterChainTest {
+
+    private static final IntPredicate EVEN = new IntPredicate() {
+        @Override
+        public boolean test(int value) {
+            return value % 2 == 0;
+        }
+    };
+
+    private static final Predicate<Integer> EVEN_BOXED = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer value) {
+            return value % 2 == 0;
+        }
+    };
+
+    @Test
+    public void sameAsSeparateOperators() {
+        Random random = new Random(17);
+        Integer[] values = new Integer[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(8);
+        }
+        Observable<Integer> source = Observable.fromArray(values).hide();
+
+        List<Integer> expected = source
+                .filter(EVEN_BOXED)
+                .skip(100)
+                .distinctUntilChanged()
+                .take(2000)
+                .skip(10)
+                .toList()
+                .blockingGet();
+        IntFilterChain chain = IntFilterChain.create()
+                .filter(EVEN)
+                .skip(100)
+                .distinctUntilChanged()
+                .take(2000)
+                .skip(10);
+
+        assertEquals(5, chain.size());
+        source.compose(chain).test().assertResult(expected.toArray(new Integer[0]));
+    }
+
+    @Test
+    public void take_completesAndDisposesUpstream() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        IntFilterChain chain = IntFilterChain.create().take(2).filter(EVEN);
+
+        Observable<Integer> observable = subject.compose(chain);
+        TestObserver<Integer> testObserver = observable.test();
+        subject.onNext(2);
+        subject.onNext(3);
+
+        testObserver.assertResult(2);
+        assertFalse(subject.hasObservers());
+    }
+
+    @Test
+    public void takeZero_completesImmediately() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+
+        subject.compose(IntFilterChain.create().filter(EVEN).take(0)).test().assertResult();
+        assertFalse(subject.hasObservers());
+    }
+
+    @Test
+    public void predicateError() {
+        IntFilterChain chain = IntFilterChain.create().filter(new IntPredicate() {
+            @Override
+            public boolean test(int value) {
+                if (value == 3) {
+                    throw new ExpectedException();
+                }
+                return true;
+            }
+        });
+
+        Observable.range(1, 5).hide().compose(chain).test()
+                .assertFailure(ExpectedException.class, 1, 2);
+    }
+
+    @Test
+    public void syncFusion() {
+        FusingObserver observer = new FusingObserver(QueueFuseable.ANY);
+        Observable.range(1, 20)
+                .compose(IntFilterChain.create().filter(EVEN).skip(2).take(3))
+                .subscribe(observer);
+
+        assertEquals(QueueFuseable.SYNC, observer.mFusionMode);
+        assertEquals(listOf(6, 8, 10), observer.mValues);
+        assertTrue(observer.mComplete);
+    }
+
+    @Test
+    public void asyncFusion() {
+        UnicastSubject<Integer> subject = UnicastSubject.create();
+        FusingObserver observer = new FusingObserver(QueueFuseable.ANY);
+        subject.compose(IntFilterChain.create().filter(EVEN).distinctUntilChanged())
+                .subscribe(observer);
+        subject.onNext(2);
+        subject.onNext(2);
+        subject.onNext(3);
+        subject.onNext(4);
+        subject.onComplete();
+
+        assertEquals(QueueFuseable.ASYNC, observer.mFusionMode);
+        assertEquals(listOf(2, 4), observer.mValues);
+        assertTrue(observer.mComplete);
+    }
+
+    @Test
+    public void asyncFusion_rejectedWithTake() {
+        UnicastSubject<Integer> subject = UnicastSubject.create();
+        FusingObserver observer = new FusingObserver(QueueFuseable.ANY);
+        subject.compose(IntFilterChain.create().take(1)).subscribe(observer);
+        subject.onNext(1);
+
+        assertEquals(QueueFuseable.NONE, observer.mFusionMode);
+        assertEquals(listOf(1), observer.mValues);
+        assertTrue(observer.mComplete);
+    }
+
+    @Test
+    public void boundaryFusion_rejected() {
+        List<Integer> values = Observable.range(1, 1000)
+                .compose(IntFilterChain.create().filter(EVEN).take(5))
+                .observeOn(Schedulers.single())
+                .toList()
+                .blockingGet();
+
+        assertEquals(listOf(2, 4, 6, 8, 10), values);
+    }
+
+    private static List<Integer> listOf(Integer... values) {
+        List<Integer> list = new ArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    static final class FusingObserver implements Observer<Integer> {
+
+        final int mRequestedMode;
+        final List<Integer> mValues = new ArrayList<>();
+        int mFusionMode;
+        boolean mComplete;
+        private QueueDisposable<Integer> mQueue;
+
+        FusingObserver(int requestedMode) {
+            mRequestedMode = requestedMode;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onSubscribe(Disposable d) {
+            mQueue = (QueueDisposable<Integer>) d;
+            mFusionMode = mQueue.requestFusion(mRequestedMode);
+            if (mFusionMode == QueueFuseable.SYNC) {
+                drain();
+                mComplete = true;
+            }
+        }
+
+        @Override
+        public void onNext(Integer value) {
+            if (mFusionMode == QueueFuseable.ASYNC) {
+                drain();
+            } else {
+                mValues.add(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            throw new AssertionError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (mFusionMode == QueueFuseable.ASYNC) {
+                drain();
+            }
+            mComplete = true;
+        }
+
+        private void drain() {
+            try {
+                Integer value;
+                while ((value = mQueue.poll()) != null) {
+                    mValues.add(value);
+                }
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+}
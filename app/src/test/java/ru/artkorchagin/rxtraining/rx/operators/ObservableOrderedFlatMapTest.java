@@ -0,0 +1,185 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Scheduler;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.functions.Function;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+import ru.artkorchagin.rxtraining.metrics.HeadOfLineMetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class ObservableOrderedFlatMapTest {
+
+    @Test
+    public void keepsOrderUnderConcurrency() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        final Scheduler scheduler = Schedulers.from(executor);
+        Function<Integer, ObservableSource<Integer>> mapper = new Function<Integer, ObservableSource<Integer>>() {
+            @Override
+            public ObservableSource<Integer> apply(Integer value) {
+                return Observable.range(value * 10, 3)
+                        .subscribeOn(scheduler)
+                        .delay(value % 3, TimeUnit.MILLISECONDS, scheduler);
+            }
+        };
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(i * 10);
+            expected.add(i * 10 + 1);
+            expected.add(i * 10 + 2);
+        }
+
+        try {
+            TestObserver<Integer> testObserver = new ObservableOrderedFlatMap<>(Observable.range(0, 200),
+                    mapper, 8, 3, null).test();
+
+            testObserver.await(5, TimeUnit.SECONDS);
+            testObserver.assertComplete();
+            testObserver.assertValueSequence(expected);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void headEmitsBeforeCompletion() {
+        final PublishSubject<Integer> first = PublishSubject.create();
+        final PublishSubject<Integer> second = PublishSubject.create();
+        TestObserver<Integer> testObserver = new ObservableOrderedFlatMap<>(Observable.just(0, 1),
+                new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(Integer value) {
+                        return value == 0 ? first : second;
+                    }
+                }, 2, 2, null).test();
+
+        second.onNext(20);
+        first.onNext(10);
+        testObserver.assertValues(10);
+        first.onComplete();
+        testObserver.assertValues(10, 20);
+        second.onComplete();
+        testObserver.assertResult(10, 20);
+    }
+
+    @Test
+    public void metricsCountWaitingBehindHead() {
+        final List<PublishSubject<Integer>> inners = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            inners.add(PublishSubject.<Integer>create());
+        }
+        HeadOfLineMetrics metrics = new HeadOfLineMetrics();
+        TestObserver<Integer> testObserver = new ObservableOrderedFlatMap<>(Observable.range(0, 3),
+                new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(Integer value) {
+                        return inners.get(value);
+                    }
+                }, 3, 1, metrics).test();
+
+        inners.get(0).onNext(0);
+        inners.get(0).onComplete();
+        assertEquals(1, metrics.getReleasedCount());
+        assertEquals(1, metrics.getMaxWaitingCount());
+
+        inners.get(1).onNext(1);
+        inners.get(1).onComplete();
+        inners.get(2).onNext(2);
+        inners.get(2).onComplete();
+        testObserver.assertResult(0, 1, 2);
+        assertEquals(3, metrics.getReleasedCount());
+        assertEquals(1, metrics.getMaxWaitingCount());
+    }
+
+    @Test
+    public void synchronousHeadExceedsBuffer() {
+        TestObserver<Integer> testObserver = new ObservableOrderedFlatMap<>(Observable.just(0, 1),
+                new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(Integer value) {
+                        return Observable.range(value * 10, 5);
+                    }
+                }, 1, 1, null).test();
+
+        testObserver.assertResult(0, 1, 2, 3, 4, 10, 11, 12, 13, 14);
+    }
+
+    @Test
+    public void bufferOverflow() {
+        final PublishSubject<Integer> first = PublishSubject.create();
+        final PublishSubject<Integer> second = PublishSubject.create();
+        TestObserver<Integer> testObserver = new ObservableOrderedFlatMap<>(Observable.just(0, 1),
+                new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(Integer value) {
+                        return value == 0 ? first : second;
+                    }
+                }, 2, 1, null).test();
+
+        second.onNext(20);
+        second.onNext(21);
+
+        testObserver.assertFailure(MissingBackpressureException.class);
+        assertFalse(first.hasObservers());
+        assertFalse(second.hasObservers());
+    }
+
+    @Test
+    public void innerError() {
+        final PublishSubject<Integer> source = PublishSubject.create();
+        TestObserver<Integer> testObserver = new ObservableOrderedFlatMap<>(source,
+                new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(Integer value) {
+                        return value < 2 ? Observable.just(value)
+                                : Observable.<Integer>error(new ExpectedException());
+                    }
+                }, 2, 1, null).test();
+
+        source.onNext(0);
+        source.onNext(1);
+        source.onNext(2);
+
+        testObserver.assertFailure(ExpectedException.class, 0, 1);
+        assertFalse(source.hasObservers());
+    }
+
+    @Test
+    public void dispose() {
+        final PublishSubject<Integer> source = PublishSubject.create();
+        final PublishSubject<Integer> inner = PublishSubject.create();
+        TestObserver<Integer> testObserver = new ObservableOrderedFlatMap<>(source,
+                new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(Integer value) {
+                        return inner;
+                    }
+                }, 2, 1, null).test();
+        source.onNext(0);
+
+        testObserver.dispose();
+
+        assertFalse(source.hasObservers());
+        assertFalse(inner.hasObservers());
+        assertEquals(0, testObserver.valueCount());
+    }
+
+}
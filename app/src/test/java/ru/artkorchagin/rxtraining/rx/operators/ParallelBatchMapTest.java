@@ -0,0 +1,130 @@
+package ru.artkorchagin.rxtraining.rx.operators;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import ru.artkorchagin.rxtraining.exceptions.ExpectedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class ParallelBatchMapTest {
+
+    private static final int COUNT = 10_000;
+
+    private ExecutorService mExecutor;
+    private Scheduler mScheduler;
+    private final Set<String> mThreadNames = Collections.newSetFromMap(
+            new ConcurrentHashMap<String, Boolean>());
+
+    private final Function<Integer, Integer> mSlowSquare = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer value) throws InterruptedException {
+            mThreadNames.add(Thread.currentThread().getName());
+            if (value % 1000 == 0) {
+                Thread.sleep(5);
+            }
+            return value * value;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        mExecutor = Executors.newFixedThreadPool(4);
+        mScheduler = Schedulers.from(mExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdown();
+    }
+
+    @Test
+    public void orderedKeepsSourceOrder() throws InterruptedException {
+        TestSubscriber<Integer> testSubscriber = Flowable.range(0, COUNT)
+                .compose(new ParallelBatchMap<>(mSlowSquare, mScheduler, 4, 100, 2, true))
+                .test();
+
+        testSubscriber.await(5, TimeUnit.SECONDS);
+        testSubscriber.assertComplete();
+        testSubscriber.assertValueSequence(squares());
+        assertTrue(mThreadNames.size() > 1);
+    }
+
+    @Test
+    public void unorderedEmitsAllValues() throws InterruptedException {
+        TestSubscriber<Integer> testSubscriber = Flowable.range(0, COUNT)
+                .compose(new ParallelBatchMap<>(mSlowSquare, mScheduler, 4, 100, 2, false))
+                .test();
+
+        testSubscriber.await(5, TimeUnit.SECONDS);
+        testSubscriber.assertComplete();
+        List<Integer> values = new ArrayList<>(testSubscriber.values());
+        Collections.sort(values);
+        assertEquals(squares(), values);
+        assertTrue(mThreadNames.size() > 1);
+    }
+
+    @Test
+    public void respectsDownstreamRequests() throws InterruptedException {
+        TestSubscriber<Integer> testSubscriber = Flowable.range(0, COUNT)
+                .compose(new ParallelBatchMap<>(mSlowSquare, mScheduler, 4, 100, 2, true))
+                .test(3);
+
+        testSubscriber.awaitCount(3);
+        Thread.sleep(20);
+        testSubscriber.assertValues(0, 1, 4);
+        testSubscriber.assertNotComplete();
+        testSubscriber.cancel();
+    }
+
+    @Test
+    public void mapperError() throws InterruptedException {
+        Function<Integer, Integer> failing = new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer value) {
+                if (value == 500) {
+                    throw new ExpectedException();
+                }
+                return value;
+            }
+        };
+
+        for (boolean ordered : new boolean[]{true, false}) {
+            TestSubscriber<Integer> testSubscriber = Flowable.range(0, COUNT)
+                    .compose(new ParallelBatchMap<>(failing, mScheduler, 4, 100, 2, ordered))
+                    .test();
+
+            testSubscriber.await(5, TimeUnit.SECONDS);
+            testSubscriber.assertError(ExpectedException.class);
+        }
+    }
+
+    private static List<Integer> squares() {
+        List<Integer> squares = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            squares.add(i * i);
+        }
+        return squares;
+    }
+
+}
@@ -0,0 +1,121 @@
+package ru.artkorchagin.rxtraining.rx.schedulers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.functions.Function;
+import io.reactivex.observers.TestObserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class BoundedBlockingSchedulerTest {
+
+    private static final int MAX_THREADS = 4;
+
+    private BoundedBlockingScheduler mScheduler;
+
+    @Before
+    public void setUp() {
+        mScheduler = new BoundedBlockingScheduler(MAX_THREADS);
+    }
+
+    @After
+    public void tearDown() {
+        mScheduler.shutdown();
+    }
+
+    @Test
+    public void limitsConcurrentBlockingCalls() throws InterruptedException {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        TestObserver<Integer> testObserver = Observable.range(0, 64)
+                .flatMap(new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(final Integer value) {
+                        return Observable.fromCallable(new Callable<Integer>() {
+                            @Override
+                            public Integer call() throws InterruptedException {
+                                int current = running.incrementAndGet();
+                                int max;
+                                while (current > (max = maxRunning.get())) {
+                                    maxRunning.compareAndSet(max, current);
+                                }
+                                Thread.sleep(2);
+                                running.decrementAndGet();
+                                return value;
+                            }
+                        }).subscribeOn(mScheduler);
+                    }
+                })
+                .test();
+
+        testObserver.await(5, TimeUnit.SECONDS);
+        testObserver.assertComplete();
+        testObserver.assertValueCount(64);
+        assertTrue(maxRunning.get() <= MAX_THREADS);
+        assertTrue(mScheduler.getLargestThreadCount() <= MAX_THREADS);
+    }
+
+    @Test
+    public void scheduleDirect_delay() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        mScheduler.scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    public void idleThreadsStop() throws InterruptedException {
+        BoundedBlockingScheduler scheduler = new BoundedBlockingScheduler(2, 0, 10);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            scheduler.scheduleDirect(new Runnable() {
+                @Override
+                public void run() {
+                    latch.countDown();
+                }
+            });
+            assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (scheduler.getThreadCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, scheduler.getThreadCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidKeepAlive() {
+        new BoundedBlockingScheduler(1, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidStackSize() {
+        new BoundedBlockingScheduler(1, -1, 1000);
+    }
+
+}
@@ -0,0 +1,162 @@
+package ru.artkorchagin.rxtraining.rx.schedulers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class HashedWheelSchedulerTest {
+
+    private HashedWheelScheduler mScheduler;
+
+    @Before
+    public void setUp() {
+        mScheduler = new HashedWheelScheduler(1, TimeUnit.MILLISECONDS, 16);
+    }
+
+    @After
+    public void tearDown() {
+        mScheduler.shutdown();
+    }
+
+    @Test
+    public void scheduleDirect_delay() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        mScheduler.scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    public void scheduleDirect_severalRounds() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        mScheduler.scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void scheduleDirect_disposed() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        Disposable disposable = mScheduler.scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+        disposable.dispose();
+
+        Thread.sleep(60);
+        assertTrue(disposable.isDisposed());
+        assertEquals(0, runs.get());
+        assertEquals(0, mScheduler.getTimerCount());
+    }
+
+    @Test
+    public void scheduleDirect_manyTimers() throws InterruptedException {
+        int count = 10000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+        for (int i = 0; i < count; i++) {
+            mScheduler.scheduleDirect(task, i % 40, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Thread.sleep(5);
+        assertEquals(0, mScheduler.getTimerCount());
+    }
+
+    @Test
+    public void schedulePeriodicallyDirect_withoutDrift() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(10);
+        long start = System.nanoTime();
+        Disposable disposable = mScheduler.schedulePeriodicallyDirect(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+                try {
+                    // Время выполнения меньше периода не должно сдвигать следующие срабатывания
+                    Thread.sleep(3);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }, 5, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        disposable.dispose();
+        assertTrue(elapsed >= 50);
+        assertTrue(elapsed < 50 + 3 * 10);
+    }
+
+    @Test
+    public void worker_dispose() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        Scheduler.Worker worker = mScheduler.createWorker();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        };
+        worker.schedule(task, 20, TimeUnit.MILLISECONDS);
+        worker.schedulePeriodically(task, 20, 20, TimeUnit.MILLISECONDS);
+        worker.dispose();
+
+        Disposable afterDispose = worker.schedule(task);
+        Thread.sleep(60);
+        assertTrue(worker.isDisposed());
+        assertTrue(afterDispose.isDisposed());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void shutdown() throws InterruptedException {
+        mScheduler.shutdown();
+        final AtomicInteger runs = new AtomicInteger();
+        Disposable disposable = mScheduler.scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        });
+
+        Thread.sleep(10);
+        assertTrue(disposable.isDisposed());
+        assertFalse(runs.get() > 0);
+    }
+
+}
@@ -0,0 +1,48 @@
+package ru.artkorchagin.rxtraining.search;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.functions.BiFunction;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+public class SearchEngineTest {
+
+    @Test
+    public void results_debounceOnInjectedScheduler() {
+        TestScheduler debounceScheduler = new TestScheduler();
+        SearchEngine searchEngine = new SearchEngine(300, 10, Schedulers.trampoline(),
+                debounceScheduler, new BiFunction<String, Integer, List<String>>() {
+                    @Override
+                    public List<String> apply(String searchString, Integer categoryId) {
+                        return Collections.singletonList(searchString + categoryId);
+                    }
+                }, null);
+        PublishSubject<String> searchSubject = PublishSubject.create();
+
+        TestObserver<List<String>> testObserver = searchEngine
+                .results(searchSubject, BehaviorSubject.createDefault(1))
+                .test();
+        searchSubject.onNext("a");
+        debounceScheduler.advanceTimeBy(299, TimeUnit.MILLISECONDS);
+        testObserver.assertNoValues();
+
+        debounceScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        testObserver.assertValue(Collections.singletonList("a1"));
+        assertEquals(1, searchEngine.getSearchCount());
+    }
+
+}
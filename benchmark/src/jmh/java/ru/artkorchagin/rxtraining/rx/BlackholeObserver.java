@@ -0,0 +1,52 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.CompletableObserver;
+import io.reactivex.MaybeObserver;
+import io.reactivex.Observer;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Подписчик, который отдаёт все полученные элементы в {@link Blackhole}, чтобы JIT не смог
+ * выбросить вычисления. Ошибки пробрасываются, чтобы бенчмарк не мерил "пустой" поток.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+final class BlackholeObserver<T> implements Observer<T>, SingleObserver<T>, MaybeObserver<T>,
+        CompletableObserver {
+
+    private final Blackhole mBlackhole;
+
+    BlackholeObserver(Blackhole blackhole) {
+        mBlackhole = blackhole;
+    }
+
+    @Override
+    public void onSubscribe(Disposable d) {
+        mBlackhole.consume(d);
+    }
+
+    @Override
+    public void onNext(T t) {
+        mBlackhole.consume(t);
+    }
+
+    @Override
+    public void onSuccess(T t) {
+        mBlackhole.consume(t);
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        throw new IllegalStateException(e);
+    }
+
+    @Override
+    public void onComplete() {
+        mBlackhole.consume(true);
+    }
+
+}
@@ -0,0 +1,35 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class RxCombiningTrainingBenchmark {
+
+    private final RxCombiningTraining mRxCombiningTraining = new RxCombiningTraining();
+
+    @Benchmark
+    public void summation(StreamSizeState state, Blackhole blackhole) {
+        mRxCombiningTraining.summation(state.ints, state.mixedInts)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void composition(StreamSizeState state, Blackhole blackhole) {
+        mRxCombiningTraining.composition(state.ints, state.mixedInts)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void additionalFirstItem(StreamSizeState state, Blackhole blackhole) {
+        mRxCombiningTraining.additionalFirstItem(-1, state.ints)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+}
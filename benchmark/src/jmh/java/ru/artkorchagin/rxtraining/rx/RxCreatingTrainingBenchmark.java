@@ -0,0 +1,83 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class RxCreatingTrainingBenchmark {
+
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int RANGE_SIZE = 4096;
+
+    private final RxCreatingTraining mRxCreatingTraining = new RxCreatingTraining();
+
+    /**
+     * Файл с теми же строками, что и {@link StreamSizeState#strings}, по одной в строке
+     */
+    @State(Scope.Benchmark)
+    public static class RecordsFileState {
+
+        public File file;
+
+        @Setup(Level.Trial)
+        public void setUp(StreamSizeState state) throws IOException {
+            file = File.createTempFile("records", ".txt");
+            Charset charset = Charset.forName("UTF-8");
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file));
+            try {
+                for (String value : state.strings) {
+                    outputStream.write(value.getBytes(charset));
+                    outputStream.write('\n');
+                }
+            } finally {
+                outputStream.close();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    public void arrayToObservable(StreamSizeState state, Blackhole blackhole) {
+        mRxCreatingTraining.arrayToObservable(state.strings)
+                .subscribe(new BlackholeObserver<String>(blackhole));
+    }
+
+    @Benchmark
+    public void fileToFlowable(RecordsFileState state, Blackhole blackhole) {
+        mRxCreatingTraining.fileToFlowable(WINDOW_SIZE, state.file, (byte) '\n')
+                .toObservable()
+                .subscribe(new BlackholeObserver<ByteBuffer>(blackhole));
+    }
+
+    @Benchmark
+    public void arrayToParallelRanges(StreamSizeState state, Blackhole blackhole) {
+        mRxCreatingTraining.arrayToParallelRanges(RANGE_SIZE, state.strings)
+                .sequential()
+                .toObservable()
+                .blockingSubscribe(new BlackholeObserver<List<String>>(blackhole));
+    }
+
+}
@@ -0,0 +1,29 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class RxErrorsTrainingBenchmark {
+
+    private final RxErrorsTraining mRxErrorsTraining = new RxErrorsTraining();
+
+    @Benchmark
+    public void handleErrorsWithDefaultValue(StreamSizeState state, Blackhole blackhole) {
+        mRxErrorsTraining.handleErrorsWithDefaultValue(state.ints, -1)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void handleErrorsWithFallbackObservable(StreamSizeState state, Blackhole blackhole) {
+        mRxErrorsTraining.handleErrorsWithFallbackObservable(state.ints, state.mixedInts)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+}
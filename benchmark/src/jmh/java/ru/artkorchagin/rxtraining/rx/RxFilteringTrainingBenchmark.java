@@ -0,0 +1,72 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.IntBuffer;
+
+/**
+ * Методы, зависящие от времени ({@code onlyLastPerInterval}, {@code errorIfLongWait}), здесь
+ * не измеряются: их пропускная способность определяется таймером, а не цепочкой операторов.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class RxFilteringTrainingBenchmark {
+
+    private static final int COUNT = 100;
+
+    private final RxFilteringTraining mRxFilteringTraining = new RxFilteringTraining();
+
+    @Benchmark
+    public void onlyPositiveNumbers(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.onlyPositiveNumbers(state.mixedInts)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void onlyLastValues(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.onlyLastValues(COUNT, state.ints)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void onlyFirstValues(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.onlyFirstValues(COUNT, state.ints)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void ignoreFirstValues(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.ignoreFirstValues(COUNT, state.ints)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void ignoreDuplicates(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.ignoreDuplicates(state.mixedInts)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void onlyChangedValues(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.onlyChangedValues(state.mixedInts)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void onlyChangedValues_telemetry(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.onlyChangedValues(state.telemetryInts)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void onlyChangedValuesBatched_telemetry(StreamSizeState state, Blackhole blackhole) {
+        mRxFilteringTraining.onlyChangedValuesBatched(state.telemetryChunks)
+                .subscribe(new BlackholeObserver<IntBuffer>(blackhole));
+    }
+
+}
@@ -0,0 +1,23 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class RxMaybeTrainingBenchmark {
+
+    private final RxMaybeTraining mRxMaybeTraining = new RxMaybeTraining();
+
+    @Benchmark
+    public void calculateSumOfValues(StreamSizeState state, Blackhole blackhole) {
+        mRxMaybeTraining.calculateSumOfValues(state.ints)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+}
@@ -0,0 +1,43 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class RxSingleTrainingBenchmark {
+
+    private final RxSingleTraining mRxSingleTraining = new RxSingleTraining();
+
+    @Benchmark
+    public void onlyOneElementOfSequence(StreamSizeState state, Blackhole blackhole) {
+        mRxSingleTraining.onlyOneElementOfSequence(state.ints)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void calculateSumOfValues(StreamSizeState state, Blackhole blackhole) {
+        mRxSingleTraining.calculateSumOfValues(state.ints)
+                .subscribe(new BlackholeObserver<Integer>(blackhole));
+    }
+
+    @Benchmark
+    public void collectionOfValues(StreamSizeState state, Blackhole blackhole) {
+        mRxSingleTraining.collectionOfValues(state.ints)
+                .subscribe(new BlackholeObserver<List<Integer>>(blackhole));
+    }
+
+    @Benchmark
+    public void allElementsIsPositive(StreamSizeState state, Blackhole blackhole) {
+        mRxSingleTraining.allElementsIsPositive(state.ints)
+                .subscribe(new BlackholeObserver<Boolean>(blackhole));
+    }
+
+}
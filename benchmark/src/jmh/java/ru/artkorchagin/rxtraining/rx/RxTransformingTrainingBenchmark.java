@@ -0,0 +1,162 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.observables.GroupedObservable;
+import io.reactivex.schedulers.Schedulers;
+import ru.artkorchagin.rxtraining.buffer.ByteChunk;
+import ru.artkorchagin.rxtraining.buffer.ByteChunkPool;
+import ru.artkorchagin.rxtraining.buffer.IntStringCache;
+import ru.artkorchagin.rxtraining.entity.Entity;
+import ru.artkorchagin.rxtraining.rx.schedulers.BoundedBlockingScheduler;
+
+/**
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class RxTransformingTrainingBenchmark {
+
+    private static final int LISTS_SIZE = 64;
+    private static final int IN_FLIGHT_CALLS = 10_000;
+    private static final int BLOCKING_THREADS = 64;
+    private static final long BLOCKING_CALL_MILLS = 1;
+    private static final int PARALLEL_BATCH_SIZE = 1024;
+    private static final int TEXT_CHUNK_SIZE = 64 * 1024;
+
+    private final RxTransformingTraining mRxTransformingTraining = new RxTransformingTraining();
+    private final IntStringCache mStringCache = new IntStringCache(-1024, 1023);
+    private final ByteChunkPool mTextChunkPool = new ByteChunkPool(TEXT_CHUNK_SIZE, 4, true);
+
+    /**
+     * {@link RxTransformingTraining#requestApiEntity(int)} блокирует поток, как настоящий
+     * HTTP запрос
+     */
+    private final RxTransformingTraining mBlockingTraining = new RxTransformingTraining() {
+        @Override
+        Observable<Entity> requestApiEntity(final int id) {
+            return Observable.fromCallable(new Callable<Entity>() {
+                @Override
+                public Entity call() throws InterruptedException {
+                    Thread.sleep(BLOCKING_CALL_MILLS);
+                    return new Entity(id);
+                }
+            });
+        }
+    };
+
+    /**
+     * Планировщик блокирующих вызовов: {@code io} - {@link Schedulers#io()}, {@code bounded} -
+     * {@link BoundedBlockingScheduler} на {@link #BLOCKING_THREADS} потоков
+     */
+    @State(Scope.Benchmark)
+    public static class BlockingSchedulerState {
+
+        @Param({"io", "bounded"})
+        public String type;
+
+        public Scheduler scheduler;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            scheduler = "io".equals(type)
+                    ? Schedulers.io()
+                    : new BoundedBlockingScheduler(BLOCKING_THREADS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (scheduler instanceof BoundedBlockingScheduler) {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    @Benchmark
+    public void transformIntToString(StreamSizeState state, Blackhole blackhole) {
+        mRxTransformingTraining.transformIntToString(state.ints)
+                .subscribe(new BlackholeObserver<String>(blackhole));
+    }
+
+    @Benchmark
+    public void requestEntityById(StreamSizeState state, Blackhole blackhole) {
+        mRxTransformingTraining.requestEntityById(state.ints)
+                .subscribe(new BlackholeObserver<Entity>(blackhole));
+    }
+
+    @Benchmark
+    public void distributeNamesByFirstLetter(StreamSizeState state, Blackhole blackhole) {
+        mRxTransformingTraining.distributeNamesByFirstLetter(state.names)
+                .flatMap(new Function<GroupedObservable<Character, String>, Observable<String>>() {
+                    @Override
+                    public Observable<String> apply(GroupedObservable<Character, String> group) {
+                        return group;
+                    }
+                })
+                .subscribe(new BlackholeObserver<String>(blackhole));
+    }
+
+    @Benchmark
+    public void collectsIntsToLists(StreamSizeState state, Blackhole blackhole) {
+        mRxTransformingTraining.collectsIntsToLists(LISTS_SIZE, state.ints)
+                .subscribe(new BlackholeObserver<List<Integer>>(blackhole));
+    }
+
+    @Benchmark
+    public void requestEntityById_blocking(BlockingSchedulerState state, Blackhole blackhole) {
+        mBlockingTraining.requestEntityById(state.scheduler, IN_FLIGHT_CALLS,
+                Observable.range(0, IN_FLIGHT_CALLS))
+                .blockingSubscribe(new BlackholeObserver<Entity>(blackhole));
+    }
+
+    @Benchmark
+    public void transformIntToString_parallelOrdered(StreamSizeState state, Blackhole blackhole) {
+        mRxTransformingTraining.transformIntToString(PARALLEL_BATCH_SIZE, true,
+                Schedulers.computation(), Flowable.range(0, state.size))
+                .toObservable()
+                .blockingSubscribe(new BlackholeObserver<String>(blackhole));
+    }
+
+    @Benchmark
+    public void transformIntToString_parallelUnordered(StreamSizeState state, Blackhole blackhole) {
+        mRxTransformingTraining.transformIntToString(PARALLEL_BATCH_SIZE, false,
+                Schedulers.computation(), Flowable.range(0, state.size))
+                .toObservable()
+                .blockingSubscribe(new BlackholeObserver<String>(blackhole));
+    }
+
+    @Benchmark
+    public void transformIntToString_cached(StreamSizeState state, Blackhole blackhole) {
+        mRxTransformingTraining.transformIntToString(mStringCache, state.mixedInts)
+                .subscribe(new BlackholeObserver<String>(blackhole));
+    }
+
+    @Benchmark
+    public void transformIntToText(StreamSizeState state, final Blackhole blackhole) {
+        mRxTransformingTraining.transformIntToText(mTextChunkPool, (byte) '\n', state.mixedInts)
+                .doOnNext(new Consumer<ByteChunk>() {
+                    @Override
+                    public void accept(ByteChunk chunk) {
+                        blackhole.consume(chunk.asReadOnlyBuffer());
+                        chunk.release();
+                    }
+                })
+                .subscribe(new BlackholeObserver<ByteChunk>(blackhole));
+    }
+
+}
@@ -0,0 +1,89 @@
+package ru.artkorchagin.rxtraining.rx;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.reactivex.Observable;
+
+/**
+ * Общее состояние бенчмарков: размер потока и заранее подготовленные источники.
+ * <p>
+ * Метрика {@code gc.alloc.rate.norm} профайлера {@code gc} считается на один вызов бенчмарка,
+ * т.е. на весь поток целиком. Для аллокаций на один элемент её нужно делить на {@link #size}.
+ *
+ * @author Arthur Korchagin (artur.korchagin@simbirsoft.com)
+ * @since 18.10.26
+ */
+@State(Scope.Benchmark)
+public class StreamSizeState {
+
+    public static final int TELEMETRY_RUN = 64;
+    public static final int CHUNK_SIZE = 1024;
+
+    @Param({"1", "1000", "1000000", "10000000"})
+    public int size;
+
+    /**
+     * Возрастающая последовательность {@code 0..size-1}
+     */
+    public Observable<Integer> ints;
+
+    /**
+     * Последовательность с повторами и отрицательными числами, значения в диапазоне
+     * {@code -512..511}
+     */
+    public Observable<Integer> mixedInts;
+
+    /**
+     * Телеметрия, где значение меняется раз в {@link #TELEMETRY_RUN} элементов
+     */
+    public Observable<Integer> telemetryInts;
+
+    /**
+     * Та же телеметрия блоками по {@link #CHUNK_SIZE} чисел
+     */
+    public Observable<int[]> telemetryChunks;
+
+    /**
+     * Имена вида {@code "<буква><число>"}, первая буква из 26 вариантов
+     */
+    public Observable<String> names;
+
+    /**
+     * Массив строк длиной {@code size}
+     */
+    public String[] strings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ints = Observable.range(0, size);
+
+        Integer[] mixed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            mixed[i] = ((i * 31) & 1023) - 512;
+        }
+        mixedInts = Observable.fromArray(mixed);
+
+        Integer[] telemetry = new Integer[size];
+        int[][] chunks = new int[(size + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new int[Math.min(CHUNK_SIZE, size - i * CHUNK_SIZE)];
+        }
+        for (int i = 0; i < size; i++) {
+            telemetry[i] = i / TELEMETRY_RUN;
+            chunks[i / CHUNK_SIZE][i % CHUNK_SIZE] = i / TELEMETRY_RUN;
+        }
+        telemetryInts = Observable.fromArray(telemetry);
+        telemetryChunks = Observable.fromArray(chunks);
+
+        strings = new String[size];
+        for (int i = 0; i < size; i++) {
+            strings[i] = (char) ('a' + i % 26) + String.valueOf(i);
+        }
+        names = Observable.fromArray(strings);
+    }
+
+}